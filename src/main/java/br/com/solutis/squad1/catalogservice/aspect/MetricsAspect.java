@@ -0,0 +1,167 @@
+package br.com.solutis.squad1.catalogservice.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the public controller, service and repository methods with Micrometer.
+ *
+ * Each method gets a {@code catalog.method} {@link Timer} with a percentile histogram, tagged by package
+ * ({@code controller}, {@code service}, {@code model.repository}), class, method, outcome and exception. Timers are
+ * resolved once per bean class and method, so the per-call overhead is a map lookup and two clock reads. The metrics
+ * are exposed by the actuator ({@code /actuator/metrics/catalog.method} and {@code /actuator/prometheus}).
+ *
+ * Instrumentation is switched per package with {@code catalog.instrumentation.packages}. Logging of arguments and
+ * results is off by default; when {@code catalog.instrumentation.payload-logging.enabled} is true only a
+ * {@code sample-rate} fraction of the calls is logged.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsAspect.class);
+    private static final String BASE_PACKAGE = "br.com.solutis.squad1.catalogservice.";
+    private static final String METRIC_NAME = "catalog.method";
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> packages;
+    private final boolean payloadLogging;
+    private final double payloadSampleRate;
+    private final Map<TimerKey, Optional<MethodTimers>> timers = new ConcurrentHashMap<>();
+
+    public MetricsAspect(
+            MeterRegistry meterRegistry,
+            @Value("${catalog.instrumentation.packages:controller,service,model.repository}") Set<String> packages,
+            @Value("${catalog.instrumentation.payload-logging.enabled:false}") boolean payloadLogging,
+            @Value("${catalog.instrumentation.payload-logging.sample-rate:0.01}") double payloadSampleRate
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.packages = packages;
+        this.payloadLogging = payloadLogging;
+        this.payloadSampleRate = payloadSampleRate;
+    }
+
+    @Pointcut(
+            "execution(public * br.com.solutis.squad1.catalogservice.controller..*.*(..)) || " +
+                    "execution(public * br.com.solutis.squad1.catalogservice.service..*.*(..)) || " +
+                    "execution(public * br.com.solutis.squad1.catalogservice.model.repository..*.*(..))"
+    )
+    public void instrumentedMethodsPointCut() {
+    }
+
+    @Around("instrumentedMethodsPointCut()")
+    public Object timeMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Optional<MethodTimers> methodTimers = timers.computeIfAbsent(
+                new TimerKey(joinPoint.getTarget().getClass(), method),
+                key -> createTimers(joinPoint, method)
+        );
+        if (methodTimers.isEmpty()) return joinPoint.proceed();
+
+        // Log de payload apenas quando habilitado e para uma amostra das chamadas
+        boolean logPayload = payloadLogging && ThreadLocalRandom.current().nextDouble() < payloadSampleRate;
+        if (logPayload) {
+            LOGGER.info(
+                    "Entering method [{}] with args {}",
+                    joinPoint.getSignature(),
+                    Arrays.toString(joinPoint.getArgs())
+            );
+        }
+
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodTimers.get().success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (logPayload) {
+                LOGGER.info("Exiting method [{}] with result: {}", joinPoint.getSignature(), result);
+            }
+            return result;
+        } catch (Throwable e) {
+            methodTimers.get().error(e).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Optional<MethodTimers> createTimers(ProceedingJoinPoint joinPoint, Method method) {
+        Class<?> instrumentedClass = getInstrumentedClass(joinPoint);
+        String packageName = instrumentedClass.getPackageName();
+        String layer = packageName.startsWith(BASE_PACKAGE)
+                ? packageName.substring(BASE_PACKAGE.length())
+                : packageName;
+        if (!packages.contains(layer)) return Optional.empty();
+
+        return Optional.of(new MethodTimers(layer, instrumentedClass.getSimpleName(), method.getName()));
+    }
+
+    private Class<?> getInstrumentedClass(ProceedingJoinPoint joinPoint) {
+        // A classe que declara o método pode ser herdada (ex.: findAll de JpaRepository), por isso vale a do bean
+        Class<?> targetClass = ClassUtils.getUserClass(AopProxyUtils.ultimateTargetClass(joinPoint.getTarget()));
+        if (targetClass.getName().startsWith(BASE_PACKAGE)) return targetClass;
+
+        // Nos repositórios do Spring Data o alvo é SimpleJpaRepository: a interface do repositório identifica o bean
+        for (Object bean : new Object[]{joinPoint.getTarget(), joinPoint.getThis()}) {
+            for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(bean.getClass())) {
+                if (type.getName().startsWith(BASE_PACKAGE)) return type;
+            }
+        }
+        return targetClass;
+    }
+
+    private record TimerKey(Class<?> targetClass, Method method) {
+    }
+
+    private final class MethodTimers {
+        private final String layer;
+        private final String className;
+        private final String methodName;
+        private final Timer success;
+        private final Map<Class<?>, Timer> errors = new ConcurrentHashMap<>();
+
+        private MethodTimers(String layer, String className, String methodName) {
+            this.layer = layer;
+            this.className = className;
+            this.methodName = methodName;
+            this.success = timer("SUCCESS", "none");
+        }
+
+        private Timer success() {
+            return success;
+        }
+
+        private Timer error(Throwable e) {
+            return errors.computeIfAbsent(e.getClass(), type -> timer("ERROR", type.getSimpleName()));
+        }
+
+        private Timer timer(String outcome, String exception) {
+            return Timer.builder(METRIC_NAME)
+                    .description("Execution time of the catalog controller, service and repository methods")
+                    .tag("package", layer)
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.solutis.squad1.catalogservice.cache;
+
+import br.com.solutis.squad1.catalogservice.model.entity.Category;
+import br.com.solutis.squad1.catalogservice.model.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory snapshot of the non-deleted categories, indexed by id and by name.
+ *
+ * Categories are few and rarely change, so product writes and category-filtered searches resolve them here instead of
+ * querying the database. The snapshot is immutable and replaced as a whole (copy-on-write): readers never lock, and
+ * {@link br.com.solutis.squad1.catalogservice.service.CategoryService} publishes every change once its transaction
+ * commits. The returned categories are detached copies and must not be modified.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryRegistry {
+    private final CategoryRepository categoryRepository;
+    // ReentrantLock em vez de synchronized para não fixar virtual threads durante a consulta ao banco
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Load the registry from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.lock();
+        try {
+            List<Category> categories = categoryRepository.findAllByDeletedFalseOrderByIdAsc();
+
+            Map<Long, Category> categoriesById = new LinkedHashMap<>();
+            categories.forEach(category -> categoriesById.put(category.getId(), copyOf(category)));
+            snapshot = new Snapshot(categoriesById);
+
+            log.info("Category registry loaded with {} categories", categoriesById.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Find category by id
+     *
+     * @param id
+     * @return Optional<Category>
+     */
+    public Optional<Category> findById(Long id) {
+        return Optional.ofNullable(snapshot().byId().get(id));
+    }
+
+    /**
+     * Find category by name
+     *
+     * @param name
+     * @return Optional<Category>
+     */
+    public Optional<Category> findByName(String name) {
+        return Optional.ofNullable(snapshot().byName().get(name));
+    }
+
+    /**
+     * Find all categories by ids, ignoring unknown and deleted ones
+     *
+     * @param ids
+     * @return Set<Category>
+     */
+    public Set<Category> findAllById(Collection<Long> ids) {
+        if (ids == null) return Set.of();
+
+        Map<Long, Category> categoriesById = snapshot().byId();
+        Set<Category> categories = new LinkedHashSet<>();
+        for (Long id : ids) {
+            Category category = categoriesById.get(id);
+            if (category != null) categories.add(category);
+        }
+
+        return categories;
+    }
+
+    /**
+     * Add or replace a category
+     *
+     * @param category
+     */
+    public void put(Category category) {
+        Category copy = copyOf(category);
+        if (Boolean.TRUE.equals(copy.getDeleted())) {
+            remove(copy.getId());
+            return;
+        }
+
+        swap(categoriesById -> categoriesById.put(copy.getId(), copy));
+    }
+
+    /**
+     * Remove a category
+     *
+     * @param id
+     */
+    public void remove(Long id) {
+        swap(categoriesById -> categoriesById.remove(id));
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) return current;
+
+        // Acessos antes do ApplicationReadyEvent carregam o registro sob demanda
+        lock.lock();
+        try {
+            if (snapshot == null) load();
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void swap(Consumer<Map<Long, Category>> change) {
+        lock.lock();
+        try {
+            Map<Long, Category> categoriesById = new LinkedHashMap<>(snapshot().byId());
+            change.accept(categoriesById);
+            snapshot = new Snapshot(categoriesById);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Category copyOf(Category category) {
+        return new Category(
+                category.getId(),
+                category.getName(),
+                category.getDeleted(),
+                category.getCreatedAt(),
+                category.getUpdatedAt(),
+                category.getDeletedAt()
+        );
+    }
+
+    private record Snapshot(Map<Long, Category> byId, Map<String, Category> byName) {
+        private Snapshot(Map<Long, Category> categoriesById) {
+            this(Collections.unmodifiableMap(categoriesById), indexByName(categoriesById.values()));
+        }
+
+        private static Map<String, Category> indexByName(Collection<Category> categories) {
+            // Em nomes repetidos prevalece a categoria de menor id, como na busca por nome no banco
+            Map<String, Category> categoriesByName = new HashMap<>();
+            categories.stream()
+                    .sorted(Comparator.comparing(Category::getId))
+                    .forEach(category -> categoriesByName.putIfAbsent(category.getName(), category));
+
+            return Collections.unmodifiableMap(categoriesByName);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.solutis.squad1.catalogservice.cache;
+
+import br.com.solutis.squad1.catalogservice.model.entity.ImageVariant;
+import br.com.solutis.squad1.catalogservice.storage.BlobStore;
+import br.com.solutis.squad1.catalogservice.storage.ImageStorage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Size-bounded cache of the bytes of the most requested image files, keyed by {@link BlobStore} key.
+ *
+ * The bytes are held off-heap, in direct buffers, so caching images does not grow the heap nor the GC work. The cache
+ * is bounded by the total bytes held ({@code catalog.images.cache.max-size}, 0 disables it) and only files up to
+ * {@code catalog.images.cache.max-entry-size} are cached.
+ *
+ * A file is only loaded on its second request in a short window, so images requested once are never copied into
+ * memory; once loaded, the W-TinyLFU policy of Caffeine keeps the most frequently requested images when the cache is
+ * full. Entries expire {@code catalog.images.cache.ttl} after being loaded, even when they keep being requested.
+ *
+ * Hit, miss and eviction metrics are published as {@code cache.*} meters with {@code cache=images.bytes}, along with
+ * {@code cache.bytes} (bytes held) and {@code cache.hit.ratio}.
+ */
+@Component
+@Slf4j
+public class ImageBytesCache {
+    public static final String CACHE_NAME = "images.bytes";
+
+    // Chaves vistas recentemente que ainda não foram carregadas no cache
+    private static final int MAX_CANDIDATES = 10_000;
+
+    private final ImageStorage imageStorage;
+    private final BlobStore blobStore;
+    private final long maxEntrySize;
+    private final Cache<String, CachedImage> images;
+    private final Cache<String, Boolean> candidates;
+
+    public ImageBytesCache(
+            ImageStorage imageStorage,
+            BlobStore blobStore,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.images.cache.max-size:64MB}") DataSize maxSize,
+            @Value("${catalog.images.cache.max-entry-size:1MB}") DataSize maxEntrySize,
+            @Value("${catalog.images.cache.ttl:1h}") Duration ttl
+    ) {
+        this.imageStorage = imageStorage;
+        this.blobStore = blobStore;
+        this.maxEntrySize = Math.min(maxEntrySize.toBytes(), maxSize.toBytes());
+        this.images = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedImage image) -> image.content().capacity())
+                // Expira pela escrita: um arquivo sempre acessado ainda é relido do storage a cada ttl
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.candidates = Caffeine.newBuilder()
+                .maximumSize(MAX_CANDIDATES)
+                .expireAfterWrite(ttl)
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, images, CACHE_NAME);
+        Gauge.builder("cache.bytes", this, ImageBytesCache::bytes)
+                .tag("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .description("The bytes of image files held in the cache")
+                .register(meterRegistry);
+        Gauge.builder("cache.hit.ratio", images, cache -> cache.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("The ratio of cache requests which were hits")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Size and last modification of the cached file, without counting as a cache request
+     *
+     * @param key
+     * @return Optional<BlobStore.BlobInfo>
+     */
+    public Optional<BlobStore.BlobInfo> info(String key) {
+        return Optional.ofNullable(images.policy().getIfPresentQuietly(key)).map(CachedImage::info);
+    }
+
+    /**
+     * Get the bytes of the file, loading them from the store when the file is requested often enough
+     *
+     * The returned buffer is read-only and positioned at the start of the file.
+     *
+     * @param key
+     * @param info
+     * @return Optional<ByteBuffer>
+     */
+    public Optional<ByteBuffer> get(String key, BlobStore.BlobInfo info) {
+        CachedImage image = images.getIfPresent(key);
+        if (image != null) return Optional.of(image.content().duplicate());
+
+        if (info.size() == 0 || info.size() > maxEntrySize) return Optional.empty();
+
+        // Primeira requisição: só registra a chave, o arquivo é servido direto do store
+        if (candidates.asMap().putIfAbsent(key, Boolean.TRUE) == null) return Optional.empty();
+
+        try {
+            image = new CachedImage(load(key, info.size()), info.lastModified());
+        } catch (IOException e) {
+            log.warn("Could not cache file {}", key, e);
+            return Optional.empty();
+        }
+
+        candidates.invalidate(key);
+        images.put(key, image);
+        return Optional.of(image.content().duplicate());
+    }
+
+    /**
+     * Invalidate the cached bytes of the image and of its variants
+     *
+     * @param archiveName
+     */
+    public void invalidate(String archiveName) {
+        String key = imageStorage.key(archiveName);
+        images.invalidate(key);
+        candidates.invalidate(key);
+        for (ImageVariant variant : ImageVariant.values()) {
+            String variantKey = imageStorage.variantKey(archiveName, variant);
+            images.invalidate(variantKey);
+            candidates.invalidate(variantKey);
+        }
+    }
+
+    /**
+     * Bytes of image files held in the cache
+     *
+     * @return long
+     */
+    public long bytes() {
+        return images.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    private ByteBuffer load(String key, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+        try (InputStream in = blobStore.open(key, 0, size); ReadableByteChannel channel = Channels.newChannel(in)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) throw new IOException("File " + key + " is shorter than expected");
+            }
+        }
+
+        return buffer.flip().asReadOnlyBuffer();
+    }
+
+    private record CachedImage(ByteBuffer content, long lastModified) {
+        private BlobStore.BlobInfo info() {
+            return new BlobStore.BlobInfo(content.capacity(), lastModified);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.solutis.squad1.catalogservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of product counts used to build paged search results.
+ *
+ * Counts are keyed by the filter combination (seller, product name, category name, full-text query) and expire after
+ * a short TTL.
+ * Any product mutation invalidates every entry, since a single write can change many filter combinations.
+ */
+@Component
+public class ProductCountCache {
+    private final Cache<ProductCountKey, Long> counts;
+
+    public ProductCountCache(
+            @Value("${catalog.cache.product-count.ttl:30s}") Duration ttl,
+            @Value("${catalog.cache.product-count.max-size:10000}") long maxSize
+    ) {
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Get the count for the filter, loading it when absent
+     *
+     * @param sellerId
+     * @param productName
+     * @param categoryName
+     * @param searchQuery
+     * @param loader
+     * @return long
+     */
+    public long get(Long sellerId, String productName, String categoryName, String searchQuery, Supplier<Long> loader) {
+        return counts.get(new ProductCountKey(sellerId, productName, categoryName, searchQuery), key -> loader.get());
+    }
+
+    /**
+     * Invalidate all counts
+     */
+    public void invalidateAll() {
+        counts.invalidateAll();
+    }
+
+    private record ProductCountKey(Long sellerId, String productName, String categoryName, String searchQuery) {
+    }
+}
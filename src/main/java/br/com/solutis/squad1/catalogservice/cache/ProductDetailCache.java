@@ -0,0 +1,70 @@
+package br.com.solutis.squad1.catalogservice.cache;
+
+import br.com.solutis.squad1.catalogservice.dto.product.ProductResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of product details keyed by product id.
+ *
+ * Entries are evicted by size and TTL, and invalidated after commit whenever the product, its image or one of its
+ * categories changes. Hit, miss and eviction metrics are published as {@code cache.*} meters with
+ * {@code cache=products.detail}.
+ */
+@Component
+public class ProductDetailCache {
+    public static final String CACHE_NAME = "products.detail";
+
+    private final Cache<Long, ProductResponseDto> products;
+
+    public ProductDetailCache(
+            MeterRegistry meterRegistry,
+            @Value("${catalog.cache.product-detail.ttl:10m}") Duration ttl,
+            @Value("${catalog.cache.product-detail.max-size:50000}") long maxSize
+    ) {
+        this.products = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, products, CACHE_NAME);
+    }
+
+    /**
+     * Get the product detail, loading it when absent
+     *
+     * @param id
+     * @param loader
+     * @return ProductResponseDto
+     */
+    public ProductResponseDto get(Long id, Function<Long, ProductResponseDto> loader) {
+        return products.get(id, loader);
+    }
+
+    /**
+     * Invalidate a product detail
+     *
+     * @param id
+     */
+    public void invalidate(Long id) {
+        products.invalidate(id);
+    }
+
+    /**
+     * Invalidate the details of the products
+     *
+     * @param ids
+     */
+    public void invalidateAll(Collection<Long> ids) {
+        products.invalidateAll(ids);
+    }
+}
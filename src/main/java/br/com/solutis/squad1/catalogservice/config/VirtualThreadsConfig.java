@@ -0,0 +1,57 @@
+package br.com.solutis.squad1.catalogservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs request handling and async tasks on virtual threads when {@code catalog.threads.virtual.enabled} is true.
+ *
+ * Tomcat gets a thread-per-task executor instead of its bounded platform thread pool, so requests blocked on JPA or
+ * file I/O no longer hold a platform thread. Feign calls run on the calling request thread and benefit the same way.
+ * The application is compiled for Java 17, so the executor is created by reflection and the mode requires running on
+ * JDK 21 (see the {@code jdk21} Maven profile, which also enables {@code -Djdk.tracePinnedThreads=short} to report
+ * carrier threads pinned by {@code synchronized} sections in Hibernate or Hikari).
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalog.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+
+            log.info("Virtual threads enabled for request handling and async tasks");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                    "catalog.threads.virtual.enabled requires JDK 21, running on " + Runtime.version(), e
+            );
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean(name = {
+            TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+}
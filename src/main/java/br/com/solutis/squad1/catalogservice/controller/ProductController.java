@@ -1,10 +1,25 @@
 package br.com.solutis.squad1.catalogservice.controller;
 
 import br.com.solutis.squad1.catalogservice.dto.image.ImageResponseDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductBatchItemDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductBatchRequestDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductBulkJobDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductBulkRequestDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductCursorPageDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductImportJobDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductPatchResultDto;
 import br.com.solutis.squad1.catalogservice.dto.product.ProductPostDto;
 import br.com.solutis.squad1.catalogservice.dto.product.ProductPutDto;
 import br.com.solutis.squad1.catalogservice.dto.product.ProductResponseDto;
+import br.com.solutis.squad1.catalogservice.exception.BadRequestException;
+import br.com.solutis.squad1.catalogservice.importer.ProductImportFormat;
+import br.com.solutis.squad1.catalogservice.model.entity.ImageVariant;
+import br.com.solutis.squad1.catalogservice.service.ImageDeliveryService;
 import br.com.solutis.squad1.catalogservice.service.ImageService;
+import br.com.solutis.squad1.catalogservice.service.ImageUploadService;
+import br.com.solutis.squad1.catalogservice.service.ProductBulkService;
+import br.com.solutis.squad1.catalogservice.service.ProductImportService;
+import br.com.solutis.squad1.catalogservice.service.ProductPatchService;
 import br.com.solutis.squad1.catalogservice.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -12,20 +27,24 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
-import jakarta.activation.MimetypesFileTypeMap;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Controller class that handles HTTP requests related to product operations.
@@ -51,27 +70,96 @@ import java.util.List;
 public class ProductController {
     private final ProductService productService;
     private final ImageService imageService;
+    private final ImageDeliveryService imageDeliveryService;
+    private final ImageUploadService imageUploadService;
+    private final ProductImportService productImportService;
+    private final ProductPatchService productPatchService;
+    private final ProductBulkService productBulkService;
 
     /**
      * Find all products
      *
+     * The name filter is a case-insensitive substring match; use {@code sort=similarity} to rank the results by
+     * how close the product name is to it. When {@code q} is present, a full-text search over name and description
+     * is made instead, ordered by relevance; the search already covers the name, so {@code q} and {@code name}
+     * together are rejected with 400.
+     *
      * @param name
      * @param category
+     * @param q
      * @param pageable
      * @return Page<ProductResponseDto>
      */
     @Operation(summary = "Find all products")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of products",
-            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductResponseDto.class))))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of products",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductResponseDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Both q and name informed")
+    })
     @GetMapping
     public Page<ProductResponseDto> findAll(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String category,
+            @RequestParam(required = false) String q,
             Pageable pageable
     ) {
+        if (q != null && !q.isBlank()) {
+            if (name != null) throw new BadRequestException("q and name cannot be used together");
+
+            return productService.search(q, category, pageable);
+        }
+
         return productService.findAll(name, category, pageable);
     }
 
+    /**
+     * Find a slice of products without counting the total
+     *
+     * Selected with {@code slice=true}; intended for hot paths that only need to know if there is a next page. When
+     * {@code after} is also present the cursor endpoint wins.
+     *
+     * @param name
+     * @param category
+     * @param pageable
+     * @return Slice<ProductResponseDto>
+     */
+    @Operation(summary = "Find a slice of products")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the slice of products",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductResponseDto.class))))
+    @GetMapping(params = {"slice=true", "!after"})
+    public Slice<ProductResponseDto> findAllSlice(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String category,
+            Pageable pageable
+    ) {
+        return productService.findAllSlice(name, category, pageable);
+    }
+
+    /**
+     * Find all products using keyset pagination
+     *
+     * Selected when the {@code after} parameter is present; send it empty for the first page and then the
+     * {@code nextCursor} of the previous response.
+     *
+     * @param name
+     * @param category
+     * @param after
+     * @param pageable
+     * @return ProductCursorPageDto
+     */
+    @Operation(summary = "Find all products using a cursor")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the next products after the cursor",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductCursorPageDto.class)))
+    @GetMapping(params = "after")
+    public ProductCursorPageDto findAllAfter(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String category,
+            @RequestParam String after,
+            Pageable pageable
+    ) {
+        return productService.findAllAfter(name, category, after, pageable.getPageSize());
+    }
+
     /**
      * Find products by seller id
      *
@@ -94,6 +182,54 @@ public class ProductController {
         return productService.findBySellerId(id, name, category, pageable);
     }
 
+    /**
+     * Find a slice of products by seller id without counting the total
+     *
+     * Selected with {@code slice=true} unless {@code after} is also present, like {@link #findAllSlice}.
+     *
+     * @param id
+     * @param name
+     * @param category
+     * @param pageable
+     * @return Slice<ProductResponseDto>
+     */
+    @Operation(summary = "Find a slice of products by seller id")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the slice of products by seller ID",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductResponseDto.class))))
+    @GetMapping(value = "/sellers/{id}", params = {"slice=true", "!after"})
+    public Slice<ProductResponseDto> findBySellerIdSlice(
+            @PathVariable Long id,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String category,
+            Pageable pageable
+    ) {
+        return productService.findBySellerIdSlice(id, name, category, pageable);
+    }
+
+    /**
+     * Find products by seller id using keyset pagination
+     *
+     * @param id
+     * @param name
+     * @param category
+     * @param after
+     * @param pageable
+     * @return ProductCursorPageDto
+     */
+    @Operation(summary = "Find products by seller id using a cursor")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the next products of the seller after the cursor",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductCursorPageDto.class)))
+    @GetMapping(value = "/sellers/{id}", params = "after")
+    public ProductCursorPageDto findBySellerIdAfter(
+            @PathVariable Long id,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String category,
+            @RequestParam String after,
+            Pageable pageable
+    ) {
+        return productService.findBySellerIdAfter(id, name, category, after, pageable.getPageSize());
+    }
+
     /**
      * Find product by id
      *
@@ -113,25 +249,33 @@ public class ProductController {
     /**
      * Load image by product name
      *
+     * Supports conditional requests (ETag/Last-Modified) and byte ranges. The {@code size} parameter
+     * ({@code thumb}, {@code small} or {@code medium}) selects a resized variant, falling back to the original while the
+     * variant is not generated yet.
+     *
      * @param name
-     * @return ResponseEntity<?>
+     * @param size
+     * @param request
+     * @param response
      */
     @Operation(summary = "Load image by product name")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved the image",
-            content = @Content(mediaType = "application/octet-stream"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the image",
+                    content = @Content(mediaType = "application/octet-stream")),
+            @ApiResponse(responseCode = "206", description = "Successfully retrieved the requested range of the image",
+                    content = @Content(mediaType = "application/octet-stream")),
+            @ApiResponse(responseCode = "304", description = "Image not modified"),
+            @ApiResponse(responseCode = "400", description = "Invalid image size"),
+            @ApiResponse(responseCode = "404", description = "Image not found")
+    })
     @GetMapping("/images/{name}")
-    public ResponseEntity<?> loadImage(@PathVariable String name) {
-        Resource resource = imageService.load(name);
-
-        // Pegar o tipo de conteúdo do arquivo
-        MimetypesFileTypeMap mimeTypesMap = new MimetypesFileTypeMap();
-        String contentType = mimeTypesMap.getContentType(resource.getFilename());
-
-        // Adicionar o tipo de conteúdo do arquivo no cabeçalho da resposta
-        HttpHeaders headers = new HttpHeaders();
-        headers.add(HttpHeaders.CONTENT_TYPE, MediaType.parseMediaType(contentType).toString());
-
-        return new ResponseEntity<>(resource, headers, HttpStatus.OK);
+    public void loadImage(
+            @PathVariable String name,
+            @RequestParam(required = false) String size,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        imageDeliveryService.serve(name, size == null ? null : ImageVariant.fromKey(size), request, response);
     }
 
     /**
@@ -140,14 +284,36 @@ public class ProductController {
      * @param productsId
      * @return List<ProductResponseDto>
      */
-    @Operation(summary = "Find products by list of ids")
+    @Operation(summary = "Find products by list of ids", deprecated = true,
+            description = "Deprecated: a body on a GET is dropped by proxies and caches, use POST /batch instead")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of products",
             content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductResponseDto.class))))
+    @Deprecated
     @GetMapping("/cart")
     public List<ProductResponseDto> findProductsByUser(@RequestBody List<Long> productsId) {
         return productService.findProductsList(productsId);
     }
 
+    /**
+     * Find products by ids in batch
+     *
+     * Returns one compact item per distinct id, in request order, with status FOUND, DELETED or MISSING.
+     *
+     * @param productBatchRequestDto
+     * @return List<ProductBatchItemDto>
+     */
+    @Operation(summary = "Find products by ids in batch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the products",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ProductBatchItemDto.class)))),
+            @ApiResponse(responseCode = "400", description = "No ids or too many ids")
+    })
+    @PostMapping("/batch")
+    public List<ProductBatchItemDto> findBatch(@Valid @RequestBody ProductBatchRequestDto productBatchRequestDto) {
+        return productService.findBatch(productBatchRequestDto.ids());
+    }
+
     /**
      * Save product
      *
@@ -171,6 +337,62 @@ public class ProductController {
         return productService.save(productPostDto);
     }
 
+    /**
+     * Import products in bulk
+     *
+     * The body is a CSV file ({@code text/csv}, header {@code name,description,price,sellerId,categoryIds}, category
+     * ids separated by {@code |}) or one product per line ({@code application/x-ndjson}). The import runs in the
+     * background; its progress and the rejected rows are polled with {@link #findImport}.
+     *
+     * @param contentType
+     * @param request
+     * @return ProductImportJobDto
+     */
+    @Operation(summary = "Import products in bulk from a CSV or NDJSON file")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import accepted",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductImportJobDto.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported format or file too large"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Authenticated user without access permission"),
+            @ApiResponse(responseCode = "503", description = "Too many imports in progress")
+    })
+    @PostMapping(path = "/imports", consumes = {"text/csv", "application/x-ndjson"})
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PreAuthorize("hasAuthority('product:create')")
+    public ProductImportJobDto importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            HttpServletRequest request
+    ) throws IOException {
+        return productImportService.start(
+                ProductImportFormat.of(contentType),
+                contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8,
+                request.getInputStream()
+        );
+    }
+
+    /**
+     * Find product import by id
+     *
+     * @param id
+     * @return ProductImportJobDto
+     */
+    @Operation(summary = "Find the progress of a product import")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the import",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductImportJobDto.class))),
+            @ApiResponse(responseCode = "404", description = "Import not found or expired")
+    })
+    @GetMapping("/imports/{id}")
+    @PreAuthorize("hasAuthority('product:create')")
+    public ProductImportJobDto findImport(
+            @PathVariable UUID id
+    ) {
+        return productImportService.findById(id);
+    }
+
     /**
      * Upload image to product
      *
@@ -196,6 +418,35 @@ public class ProductController {
         return imageService.save(productId, file);
     }
 
+    /**
+     * Upload image to product, streaming the multipart request
+     *
+     * Same contract as {@link #uploadImage}, but the {@code file} part is written to the storage while it is received
+     * instead of being buffered by the container first.
+     *
+     * @param productId
+     * @param request
+     * @return ImageResponseDto
+     */
+    @Operation(summary = "Upload image to product, streaming the multipart request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Image successfully uploaded",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ImageResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Missing file, not an image or too large"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Authenticated user without access permission")
+    })
+    @PostMapping(path = "{productId}/images/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    @PreAuthorize("hasAuthority('product:create:image')")
+    public ImageResponseDto uploadImageStream(
+            @PathVariable Long productId,
+            HttpServletRequest request
+    ) {
+        return imageUploadService.upload(productId, request);
+    }
+
     /**
      * Update product
      *
@@ -220,6 +471,32 @@ public class ProductController {
         return productService.update(id, productPutDto);
     }
 
+    /**
+     * Update the price, name and description of products in bulk
+     *
+     * The body is a JSON array of changes ({@code application/json}) or one change per line
+     * ({@code application/x-ndjson}); null fields are kept. The changes are committed in chunks as they are read and
+     * each one gets a result, in request order, with status UPDATED, MISSING or INVALID.
+     *
+     * @param request
+     * @return List<ProductPatchResultDto>
+     */
+    @Operation(summary = "Update the price, name and description of products in bulk")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes processed",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ProductPatchResultDto.class)))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Authenticated user without access permission")
+    })
+    @PatchMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAuthority('product:update')")
+    public List<ProductPatchResultDto> patch(
+            HttpServletRequest request
+    ) throws IOException {
+        return productPatchService.patch(request.getInputStream());
+    }
+
     /**
      * Delete product
      *
@@ -240,6 +517,83 @@ public class ProductController {
         productService.delete(id);
     }
 
+    /**
+     * Soft-delete products in bulk
+     *
+     * Targets all the products of a seller ({@code sellerId}) or a set of {@code ids}. The operation runs in the
+     * background; its progress is polled with {@link #findBulkJob}.
+     *
+     * @param productBulkRequestDto
+     * @return ProductBulkJobDto
+     */
+    @Operation(summary = "Soft-delete the products of a seller or a set of ids")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Bulk delete accepted",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductBulkJobDto.class))),
+            @ApiResponse(responseCode = "400", description = "Neither or both sellerId and ids, or too many ids"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Authenticated user without access permission"),
+            @ApiResponse(responseCode = "503", description = "Too many bulk operations in progress")
+    })
+    @PostMapping("/bulk/delete")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PreAuthorize("hasAuthority('product:delete')")
+    public ProductBulkJobDto deleteAll(
+            @RequestBody ProductBulkRequestDto productBulkRequestDto
+    ) {
+        return productBulkService.start(ProductBulkJobDto.Operation.DELETE, productBulkRequestDto);
+    }
+
+    /**
+     * Restore soft-deleted products in bulk
+     *
+     * Targets all the products of a seller ({@code sellerId}) or a set of {@code ids}. The operation runs in the
+     * background; its progress is polled with {@link #findBulkJob}.
+     *
+     * @param productBulkRequestDto
+     * @return ProductBulkJobDto
+     */
+    @Operation(summary = "Restore the soft-deleted products of a seller or a set of ids")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Bulk restore accepted",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductBulkJobDto.class))),
+            @ApiResponse(responseCode = "400", description = "Neither or both sellerId and ids, or too many ids"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Authenticated user without access permission"),
+            @ApiResponse(responseCode = "503", description = "Too many bulk operations in progress")
+    })
+    @PostMapping("/bulk/restore")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PreAuthorize("hasAuthority('product:delete')")
+    public ProductBulkJobDto restoreAll(
+            @RequestBody ProductBulkRequestDto productBulkRequestDto
+    ) {
+        return productBulkService.start(ProductBulkJobDto.Operation.RESTORE, productBulkRequestDto);
+    }
+
+    /**
+     * Find product bulk job by id
+     *
+     * @param id
+     * @return ProductBulkJobDto
+     */
+    @Operation(summary = "Find the progress of a bulk delete or restore")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the bulk job",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductBulkJobDto.class))),
+            @ApiResponse(responseCode = "404", description = "Bulk job not found or expired")
+    })
+    @GetMapping("/bulk/{id}")
+    @PreAuthorize("hasAuthority('product:delete')")
+    public ProductBulkJobDto findBulkJob(
+            @PathVariable UUID id
+    ) {
+        return productBulkService.findById(id);
+    }
+
     /**
      * Delete image from product
      *
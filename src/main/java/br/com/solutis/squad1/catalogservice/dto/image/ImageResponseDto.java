@@ -1,9 +1,15 @@
 package br.com.solutis.squad1.catalogservice.dto.image;
 
 import br.com.solutis.squad1.catalogservice.model.entity.Image;
+import br.com.solutis.squad1.catalogservice.model.entity.ImageVariant;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Image response DTO
+ *
+ * {@code variants} lists the resized sizes already generated, served from {@code url} with the {@code size} parameter.
  */
 public record ImageResponseDto(
         Long id,
@@ -11,7 +17,8 @@ public record ImageResponseDto(
         String originalName,
         String contentType,
         Long size,
-        String url
+        String url,
+        List<String> variants
 ) {
     public ImageResponseDto(Image image) {
         this(
@@ -20,7 +27,17 @@ public record ImageResponseDto(
                 image.getOriginalName(),
                 image.getContentType(),
                 image.getSize(),
-                image.getUrl()
+                image.getUrl(),
+                variantKeys(image.getVariants())
         );
     }
+
+    public static List<String> variantKeys(Collection<ImageVariant> variants) {
+        if (variants == null) return List.of();
+
+        return variants.stream()
+                .sorted()
+                .map(ImageVariant::key)
+                .toList();
+    }
 }
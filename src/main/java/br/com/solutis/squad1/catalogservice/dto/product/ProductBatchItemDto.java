@@ -0,0 +1,38 @@
+package br.com.solutis.squad1.catalogservice.dto.product;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * Product batch item DTO
+ *
+ * Compact view of a product returned by the batch lookup. Only {@link Status#FOUND} items carry the product data.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductBatchItemDto(
+        Long id,
+        Status status,
+        String name,
+        BigDecimal price,
+        Long sellerId,
+        String imageUrl
+) {
+    public static ProductBatchItemDto found(Long id, String name, BigDecimal price, Long sellerId, String imageUrl) {
+        return new ProductBatchItemDto(id, Status.FOUND, name, price, sellerId, imageUrl);
+    }
+
+    public static ProductBatchItemDto deleted(Long id) {
+        return new ProductBatchItemDto(id, Status.DELETED, null, null, null, null);
+    }
+
+    public static ProductBatchItemDto missing(Long id) {
+        return new ProductBatchItemDto(id, Status.MISSING, null, null, null, null);
+    }
+
+    public enum Status {
+        FOUND,
+        DELETED,
+        MISSING
+    }
+}
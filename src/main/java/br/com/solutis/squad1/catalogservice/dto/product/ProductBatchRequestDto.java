@@ -0,0 +1,14 @@
+package br.com.solutis.squad1.catalogservice.dto.product;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Product batch request DTO
+ */
+public record ProductBatchRequestDto(
+        @NotEmpty
+        List<Long> ids
+) {
+}
@@ -0,0 +1,39 @@
+package br.com.solutis.squad1.catalogservice.dto.product;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Product bulk job DTO
+ *
+ * Progress of a bulk soft-delete or restore. {@code affectedProducts} counts the products whose state changed, ids
+ * already in the target state or unknown are only counted as processed. {@code totalProducts} is only known upfront
+ * for an id set; {@code message} is only set when the job failed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductBulkJobDto(
+        UUID id,
+        Operation operation,
+        Status status,
+        Long sellerId,
+        Long totalProducts,
+        long processedProducts,
+        long affectedProducts,
+        String message,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {
+    public enum Operation {
+        DELETE,
+        RESTORE
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.solutis.squad1.catalogservice.dto.product;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Product bulk request DTO
+ *
+ * Products targeted by a bulk soft-delete or restore: all the products of a seller or a set of ids, not both.
+ */
+public record ProductBulkRequestDto(
+        @Nullable
+        Long sellerId,
+
+        @Nullable
+        List<Long> ids
+) {
+}
@@ -0,0 +1,58 @@
+package br.com.solutis.squad1.catalogservice.dto.product;
+
+import br.com.solutis.squad1.catalogservice.exception.BadRequestException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Product cursor page DTO
+ *
+ * Returned by the keyset (seek) pagination mode. The {@code nextCursor} is an opaque token that must be sent back
+ * as the {@code after} parameter to fetch the next page.
+ */
+public record ProductCursorPageDto(
+        List<ProductResponseDto> content,
+        int size,
+        boolean hasNext,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String nextCursor
+) {
+    private static final String SORT_KEY = "id";
+
+    /**
+     * Encode the cursor for the last product id of a page
+     *
+     * @param lastId
+     * @return String
+     */
+    public static String encodeCursor(Long lastId) {
+        String raw = SORT_KEY + ":" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into the last product id, returns null for the first page
+     *
+     * @param cursor
+     * @return Long
+     */
+    public static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 2);
+            if (parts.length != 2 || !SORT_KEY.equals(parts[0])) {
+                throw new BadRequestException("Invalid cursor");
+            }
+
+            return Long.parseLong(parts[1]);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.solutis.squad1.catalogservice.dto.product;
+
+import br.com.solutis.squad1.catalogservice.importer.ProductImportFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Product import job DTO
+ *
+ * Progress of a bulk product import. {@code errors} lists the rejected rows (up to
+ * {@code catalog.products.import.max-errors}); {@code message} is only set when the whole import failed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductImportJobDto(
+        UUID id,
+        Status status,
+        ProductImportFormat format,
+        long processedRows,
+        long importedRows,
+        long failedRows,
+        List<RowError> errors,
+        String message,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {
+    public record RowError(
+            long line,
+            String message
+    ) {
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.solutis.squad1.catalogservice.dto.product;
+
+import jakarta.annotation.Nullable;
+
+import java.math.BigDecimal;
+
+/**
+ * Product patch DTO
+ *
+ * One change of the bulk update: the product id and the fields to overwrite, null fields are kept as they are.
+ */
+public record ProductPatchDto(
+        Long id,
+
+        @Nullable
+        BigDecimal price,
+
+        @Nullable
+        String name,
+
+        @Nullable
+        String description
+) {
+}
@@ -0,0 +1,33 @@
+package br.com.solutis.squad1.catalogservice.dto.product;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Product patch result DTO
+ *
+ * Outcome of one change of the bulk update, in request order. Only {@link Status#INVALID} items carry a message.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductPatchResultDto(
+        Long id,
+        Status status,
+        String message
+) {
+    public static ProductPatchResultDto updated(Long id) {
+        return new ProductPatchResultDto(id, Status.UPDATED, null);
+    }
+
+    public static ProductPatchResultDto missing(Long id) {
+        return new ProductPatchResultDto(id, Status.MISSING, null);
+    }
+
+    public static ProductPatchResultDto invalid(Long id, String message) {
+        return new ProductPatchResultDto(id, Status.INVALID, message);
+    }
+
+    public enum Status {
+        UPDATED,
+        MISSING,
+        INVALID
+    }
+}
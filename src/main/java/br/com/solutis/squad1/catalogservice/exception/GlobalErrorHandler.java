@@ -49,6 +49,18 @@ public class GlobalErrorHandler {
         );
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ExceptionResponse handleServiceUnavailableException(ServiceUnavailableException ex) {
+        LOGGER.error("Service unavailable", ex);
+        return new ExceptionResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                List.of(new ErrorType("body", ex.getMessage())),
+                LocalDateTime.now()
+        );
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ExceptionResponse handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
@@ -0,0 +1,10 @@
+package br.com.solutis.squad1.catalogservice.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.solutis.squad1.catalogservice.importer;
+
+import br.com.solutis.squad1.catalogservice.dto.product.ProductPostDto;
+import br.com.solutis.squad1.catalogservice.exception.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads products from a CSV file (RFC 4180: comma separated, fields optionally enclosed in double quotes).
+ *
+ * The first record is the header and must have the {@code name}, {@code description}, {@code price},
+ * {@code sellerId} and {@code categoryIds} columns, in any order; the category ids are separated by {@code |}.
+ */
+class CsvProductImportReader implements ProductImportReader {
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String PRICE = "price";
+    private static final String SELLER_ID = "sellerId";
+    private static final String CATEGORY_IDS = "categoryIds";
+    private static final List<String> COLUMNS = List.of(NAME, DESCRIPTION, PRICE, SELLER_ID, CATEGORY_IDS);
+    // Limite de um registro, para que um campo sem aspas de fechamento não leia o arquivo inteiro em memória
+    private static final int MAX_RECORD_LENGTH = 1024 * 1024;
+
+    private final BufferedReader reader;
+    private Map<String, Integer> columns;
+    private long line = 1;
+    private boolean endOfFile;
+
+    CsvProductImportReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        if (columns == null) {
+            List<String> header = readRecord();
+            if (header == null) return null;
+
+            columns = indexColumns(header);
+        }
+
+        while (true) {
+            long recordLine = line;
+            List<String> fields = readRecord();
+            if (fields == null) return null;
+            if (fields.size() == 1 && fields.get(0).isBlank()) continue;
+
+            return toRow(recordLine, fields);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Map<String, Integer> indexColumns(List<String> header) {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Remove o BOM que alguns editores de planilha gravam no início do arquivo
+            indexes.putIfAbsent(header.get(i).replace("\uFEFF", "").trim(), i);
+        }
+
+        List<String> missing = COLUMNS.stream().filter(column -> !indexes.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("CSV header is missing the columns " + missing);
+        }
+
+        return indexes;
+    }
+
+    private ProductImportRow toRow(long recordLine, List<String> fields) {
+        try {
+            return ProductImportRow.valid(recordLine, new ProductPostDto(
+                    field(fields, NAME),
+                    field(fields, DESCRIPTION),
+                    parse(field(fields, PRICE), PRICE, BigDecimal::new),
+                    parse(field(fields, SELLER_ID), SELLER_ID, Long::valueOf),
+                    parseCategoryIds(field(fields, CATEGORY_IDS))
+            ));
+        } catch (IllegalArgumentException e) {
+            return ProductImportRow.invalid(recordLine, e.getMessage());
+        }
+    }
+
+    private String field(List<String> fields, String column) {
+        int index = columns.get(column);
+        if (index >= fields.size()) return null;
+
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parse(String value, String column, Function<String, T> parser) {
+        if (value == null) return null;
+
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static List<Long> parseCategoryIds(String value) {
+        if (value == null) return null;
+
+        List<Long> ids = new ArrayList<>();
+        for (String id : value.split("\\|")) {
+            if (!id.isBlank()) ids.add(parse(id.trim(), CATEGORY_IDS, Long::valueOf));
+        }
+
+        return ids;
+    }
+
+    private List<String> readRecord() throws IOException {
+        if (endOfFile) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new BadRequestException("CSV record at line " + line + " is too long");
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+
+        endOfFile = true;
+        if (length == 0) return null;
+
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.solutis.squad1.catalogservice.importer;
+
+import br.com.solutis.squad1.catalogservice.dto.product.ProductPostDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads products from a newline-delimited JSON file: one {@link ProductPostDto} object per line, blank lines ignored.
+ */
+class NdjsonProductImportReader implements ProductImportReader {
+    private final BufferedReader reader;
+    private final ObjectReader productReader;
+    private long line;
+
+    NdjsonProductImportReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.productReader = objectMapper.readerFor(ProductPostDto.class);
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        String json;
+        while ((json = reader.readLine()) != null) {
+            line++;
+            if (json.isBlank()) continue;
+
+            try {
+                return ProductImportRow.valid(line, productReader.readValue(json));
+            } catch (JsonProcessingException e) {
+                return ProductImportRow.invalid(line, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
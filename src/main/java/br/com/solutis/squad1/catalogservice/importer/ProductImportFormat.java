@@ -0,0 +1,49 @@
+package br.com.solutis.squad1.catalogservice.importer;
+
+import br.com.solutis.squad1.catalogservice.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+
+/**
+ * Formats accepted by the bulk product import, identified by the request {@code Content-Type}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProductImportFormat {
+    CSV(MediaType.parseMediaType("text/csv")),
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"));
+
+    private final MediaType mediaType;
+
+    /**
+     * Get the format of the content type
+     *
+     * @param contentType
+     * @return ProductImportFormat
+     */
+    public static ProductImportFormat of(MediaType contentType) {
+        for (ProductImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) return format;
+        }
+
+        throw new BadRequestException("Unsupported import format " + contentType + ", use text/csv or application/x-ndjson");
+    }
+
+    /**
+     * Open a reader of the product rows of the content
+     *
+     * @param reader
+     * @param objectMapper
+     * @return ProductImportReader
+     */
+    public ProductImportReader open(BufferedReader reader, ObjectMapper objectMapper) {
+        return switch (this) {
+            case CSV -> new CsvProductImportReader(reader);
+            case NDJSON -> new NdjsonProductImportReader(reader, objectMapper);
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.solutis.squad1.catalogservice.importer;
+
+import br.com.solutis.squad1.catalogservice.dto.product.ProductImportJobDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a bulk product import, updated by the import worker and read by the clients polling it.
+ *
+ * Only the first {@code maxErrors} rejected rows are kept; the following ones are just counted.
+ */
+public class ProductImportJob {
+    private final UUID id = UUID.randomUUID();
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final ProductImportFormat format;
+    private final int maxErrors;
+    private final AtomicLong importedRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private final List<ProductImportJobDto.RowError> errors = new ArrayList<>();
+
+    private volatile ProductImportJobDto.Status status = ProductImportJobDto.Status.QUEUED;
+    private volatile String message;
+    private volatile LocalDateTime finishedAt;
+
+    public ProductImportJob(ProductImportFormat format, int maxErrors) {
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public ProductImportFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Mark the job as running
+     */
+    public void start() {
+        status = ProductImportJobDto.Status.RUNNING;
+    }
+
+    /**
+     * Count rows saved
+     *
+     * @param count
+     */
+    public void imported(int count) {
+        importedRows.addAndGet(count);
+    }
+
+    /**
+     * Record a rejected row
+     *
+     * @param line
+     * @param error
+     */
+    public void failed(long line, String error) {
+        failedRows.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) errors.add(new ProductImportJobDto.RowError(line, error));
+        }
+    }
+
+    /**
+     * Mark the job as completed, all rows were processed
+     */
+    public void complete() {
+        finishedAt = LocalDateTime.now();
+        status = ProductImportJobDto.Status.COMPLETED;
+    }
+
+    /**
+     * Mark the job as failed, the rows after the error were not processed
+     *
+     * @param error
+     */
+    public void fail(String error) {
+        message = error;
+        finishedAt = LocalDateTime.now();
+        status = ProductImportJobDto.Status.FAILED;
+    }
+
+    /**
+     * Snapshot of the job progress
+     *
+     * @return ProductImportJobDto
+     */
+    public ProductImportJobDto toDto() {
+        List<ProductImportJobDto.RowError> rowErrors;
+        synchronized (errors) {
+            rowErrors = List.copyOf(errors);
+        }
+
+        long imported = importedRows.get();
+        long failed = failedRows.get();
+        return new ProductImportJobDto(
+                id,
+                status,
+                format,
+                imported + failed,
+                imported,
+                failed,
+                rowErrors,
+                message,
+                createdAt,
+                finishedAt
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.solutis.squad1.catalogservice.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the product rows of an import file one at a time, without loading the file in memory.
+ *
+ * Rows that cannot be parsed are returned with an error, so the import goes on and reports them; errors that make the
+ * rest of the file unreadable (e.g. a CSV without the required columns) are thrown.
+ */
+public interface ProductImportReader extends Closeable {
+    /**
+     * Read the next row
+     *
+     * @return ProductImportRow, or null at the end of the file
+     */
+    ProductImportRow next() throws IOException;
+}
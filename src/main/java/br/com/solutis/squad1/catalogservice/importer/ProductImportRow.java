@@ -0,0 +1,20 @@
+package br.com.solutis.squad1.catalogservice.importer;
+
+import br.com.solutis.squad1.catalogservice.dto.product.ProductPostDto;
+
+/**
+ * Product read from an import file, or the reason it could not be read
+ *
+ * @param line line of the file where the row starts
+ * @param product
+ * @param error
+ */
+public record ProductImportRow(long line, ProductPostDto product, String error) {
+    public static ProductImportRow valid(long line, ProductPostDto product) {
+        return new ProductImportRow(line, product, null);
+    }
+
+    public static ProductImportRow invalid(long line, String error) {
+        return new ProductImportRow(line, null, error);
+    }
+}
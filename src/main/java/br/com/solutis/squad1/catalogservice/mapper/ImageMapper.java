@@ -3,9 +3,13 @@ package br.com.solutis.squad1.catalogservice.mapper;
 import br.com.solutis.squad1.catalogservice.dto.image.ImageDto;
 import br.com.solutis.squad1.catalogservice.dto.image.ImageResponseDto;
 import br.com.solutis.squad1.catalogservice.model.entity.Image;
+import br.com.solutis.squad1.catalogservice.model.entity.ImageVariant;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.List;
+import java.util.Set;
+
 @Mapper(componentModel = "spring")
 public interface ImageMapper {
     ImageResponseDto toResponseDto(Image image);
@@ -13,8 +17,16 @@ public interface ImageMapper {
     ImageDto toDto(Image image);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "contentHash", ignore = true)
+    @Mapping(target = "variants", ignore = true)
     Image responseDtoToEntity(ImageResponseDto imageResponseDto);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "contentHash", ignore = true)
+    @Mapping(target = "variants", ignore = true)
     Image dtoToEntity(ImageDto productImageDto);
+
+    default List<String> variantKeys(Set<ImageVariant> variants) {
+        return ImageResponseDto.variantKeys(variants);
+    }
 }
@@ -8,7 +8,7 @@ import br.com.solutis.squad1.catalogservice.model.entity.Product;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = ImageMapper.class)
 public interface ProductMapper {
 
     ProductResponseDto toResponseDto(Product product);
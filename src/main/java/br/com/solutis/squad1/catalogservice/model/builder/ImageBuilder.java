@@ -5,12 +5,14 @@ import br.com.solutis.squad1.catalogservice.dto.image.ImageDto;
 import br.com.solutis.squad1.catalogservice.dto.image.ImageResponseDto;
 import br.com.solutis.squad1.catalogservice.model.entity.Category;
 import br.com.solutis.squad1.catalogservice.model.entity.Image;
+import br.com.solutis.squad1.catalogservice.model.entity.ImageVariant;
 import jakarta.persistence.Column;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.Set;
 
 public class ImageBuilder {
@@ -23,6 +25,8 @@ public class ImageBuilder {
     private String url;
     private LocalDateTime createdAt;
     private LocalDateTime deletedAt;
+    private String contentHash;
+    private Set<ImageVariant> variants = EnumSet.noneOf(ImageVariant.class);
 
     public ImageBuilder id(Long id) {
         this.id = id;
@@ -69,12 +73,24 @@ public class ImageBuilder {
         return this;
     }
 
+    public ImageBuilder contentHash(String contentHash) {
+        this.contentHash = contentHash;
+        return this;
+    }
+
+    public ImageBuilder variants(Set<ImageVariant> variants) {
+        this.variants = variants;
+        return this;
+    }
+
     public Image build(){
-        return new Image(id, archiveName, originalName, contentType, size, deleted, url, createdAt, deletedAt);
+        return new Image(id, archiveName, originalName, contentType, size, deleted, url, createdAt, deletedAt, contentHash, variants);
     }
 
     public ImageResponseDto buildImageResponseDto(){
-        return new ImageResponseDto(id, archiveName, originalName, contentType, size, url);
+        return new ImageResponseDto(
+                id, archiveName, originalName, contentType, size, url, ImageResponseDto.variantKeys(variants)
+        );
     }
 
     public ImageDto buildImageDto(){
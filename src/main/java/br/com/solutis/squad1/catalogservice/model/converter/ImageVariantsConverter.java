@@ -0,0 +1,40 @@
+package br.com.solutis.squad1.catalogservice.model.converter;
+
+import br.com.solutis.squad1.catalogservice.model.entity.ImageVariant;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Stores the generated variants of an image as a comma separated list of keys (e.g. {@code thumb,small}).
+ *
+ * A single column keeps the variants in the image row, so the product list queries that fetch the image do not need
+ * another join or collection load.
+ */
+@Converter
+public class ImageVariantsConverter implements AttributeConverter<Set<ImageVariant>, String> {
+    @Override
+    public String convertToDatabaseColumn(Set<ImageVariant> variants) {
+        if (variants == null || variants.isEmpty()) return null;
+
+        return variants.stream()
+                .sorted()
+                .map(ImageVariant::key)
+                .collect(Collectors.joining(","));
+    }
+
+    @Override
+    public Set<ImageVariant> convertToEntityAttribute(String column) {
+        Set<ImageVariant> variants = EnumSet.noneOf(ImageVariant.class);
+        if (column == null || column.isBlank()) return variants;
+
+        for (String key : column.split(",")) {
+            variants.add(ImageVariant.fromKey(key.trim()));
+        }
+
+        return variants;
+    }
+}
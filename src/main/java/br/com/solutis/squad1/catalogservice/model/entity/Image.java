@@ -1,11 +1,14 @@
 package br.com.solutis.squad1.catalogservice.model.entity;
 
+import br.com.solutis.squad1.catalogservice.model.converter.ImageVariantsConverter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 
 @Entity
 @Table(name = "images")
@@ -14,7 +17,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Image {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "images_seq")
+    @SequenceGenerator(name = "images_seq", sequenceName = "images_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "archive_name", nullable = false)
@@ -43,6 +47,13 @@ public class Image {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Convert(converter = ImageVariantsConverter.class)
+    @Column(length = 64)
+    private Set<ImageVariant> variants = EnumSet.noneOf(ImageVariant.class);
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -65,6 +76,8 @@ public class Image {
                 ", url='" + url + '\'' +
                 ", createdAt=" + createdAt +
                 ", deletedAt=" + deletedAt +
+                ", contentHash='" + contentHash + '\'' +
+                ", variants=" + variants +
                 '}';
     }
 }
@@ -0,0 +1,42 @@
+package br.com.solutis.squad1.catalogservice.model.entity;
+
+import br.com.solutis.squad1.catalogservice.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Resized variants generated for the uploaded images, by the maximum width or height in pixels.
+ */
+public enum ImageVariant {
+    THUMB(150),
+    SMALL(400),
+    MEDIUM(800);
+
+    private final int maxDimension;
+
+    ImageVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    /**
+     * Find the variant by its key ({@code thumb}, {@code small} or {@code medium})
+     *
+     * @param key
+     * @return ImageVariant
+     */
+    public static ImageVariant fromKey(String key) {
+        for (ImageVariant variant : values()) {
+            if (variant.key().equalsIgnoreCase(key)) return variant;
+        }
+
+        throw new BadRequestException("Invalid image size: " + key);
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Where;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -16,7 +17,8 @@ import java.util.Set;
 @AllArgsConstructor
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -31,7 +33,11 @@ public class Product {
     @Column(name = "seller_id", nullable = false)
     private Long sellerId;
 
+    // Filtro global: toda carga da coleção (lazy ou fetch join) ignora as categorias removidas. Os vínculos
+    // continuam em products_categories, então a categoria volta ao produto quando é restaurada; as consultas nativas
+    // sobre products_categories (ex.: findCategoryIdsByProductId) não passam pelo filtro e enxergam todos os vínculos
     @ManyToMany(fetch = FetchType.LAZY)
+    @Where(clause = "deleted = false")
     @JoinTable(
             name = "products_categories",
             joinColumns = @JoinColumn(name = "product_id"),
@@ -83,10 +89,6 @@ public class Product {
         deletedAt = LocalDateTime.now();
     }
 
-    public void deleteCategories() {
-        categories = null;
-    }
-
     @Override
     public String toString() {
         return "Product{" +
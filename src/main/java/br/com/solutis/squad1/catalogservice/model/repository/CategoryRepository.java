@@ -8,7 +8,6 @@ import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * JPA Repository for the {@link Category} entity.
@@ -37,13 +36,9 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByIdAndDeletedIsFalse(long id);
 
     /**
-     * Find all categories by list of ids
+     * Find all categories that are not deleted, ordered by id
      *
-     * @param ids
-     * @return Set<Category>
+     * @return List<Category>
      */
-    @Query(
-            "SELECT c FROM Category c WHERE c.id IN :ids AND c.deleted = false"
-    )
-    Set<Category> findAllByListOfIdAndDeletedFalse(List<Long> ids);
+    List<Category> findAllByDeletedFalseOrderByIdAsc();
 }
@@ -1,9 +1,12 @@
 package br.com.solutis.squad1.catalogservice.model.repository;
 
+import br.com.solutis.squad1.catalogservice.model.converter.ImageVariantsConverter;
 import br.com.solutis.squad1.catalogservice.model.entity.Image;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 /**
@@ -26,4 +29,44 @@ public interface ImageRepository extends JpaRepository<Image, Long> {
             "SELECT pi FROM Product p JOIN p.image pi WHERE p.id = :id AND pi.deleted = false AND p.deleted = false"
     )
     Optional<Image> findByProductIdAndDeletedIsFalse(@Param("id") Long id);
+
+    /**
+     * Count the non-deleted images referencing a stored file
+     *
+     * @param contentHash
+     * @return long
+     */
+    long countByContentHashAndDeletedIsFalse(String contentHash);
+
+    /**
+     * Lock the stored file of a content hash until the end of the transaction
+     *
+     * Serializes the upload and the deletion of the same content, so a file is never removed while a new image starts
+     * referencing it.
+     *
+     * @param contentHash
+     * @return Integer
+     */
+    @Query(
+            value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext(:contentHash))) l",
+            nativeQuery = true
+    )
+    Integer lockContentHash(@Param("contentHash") String contentHash);
+
+    /**
+     * Record the generated variants of an image
+     *
+     * Only the variants column is updated, so a concurrent deletion of the image is not overwritten.
+     *
+     * @param id
+     * @param variants column value, see {@link ImageVariantsConverter}
+     * @return int
+     */
+    @Transactional
+    @Modifying
+    @Query(
+            value = "UPDATE images SET variants = :variants WHERE id = :id",
+            nativeQuery = true
+    )
+    int updateVariants(@Param("id") Long id, @Param("variants") String variants);
 }
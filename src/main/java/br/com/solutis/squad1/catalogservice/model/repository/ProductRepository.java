@@ -1,11 +1,13 @@
 package br.com.solutis.squad1.catalogservice.model.repository;
 
 import br.com.solutis.squad1.catalogservice.model.entity.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -21,24 +23,15 @@ import java.util.Set;
  */
 public interface ProductRepository extends JpaRepository<Product, Long> {
     /**
-     * Find all categories from product
+     * Find products by ids with categories and image in a single statement
      *
+     * @param ids
      * @return List<Product>
      */
     @Query(
-            "SELECT p FROM Product p JOIN FETCH p.categories c WHERE p.deleted = false AND c.deleted = false AND p IN :products"
+            "SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.categories LEFT JOIN FETCH p.image WHERE p.id IN :ids"
     )
-    List<Product> findProductsCategories(@Param("products") List<Product> products);
-
-    /**
-     * Find all images from product
-     *
-     * @return List<Product>
-     */
-    @Query(
-            "SELECT p FROM Product p JOIN FETCH p.image i WHERE p.deleted = false AND i.deleted = false AND p IN :products"
-    )
-    List<Product> findProductsImage(@Param("products") List<Product> products);
+    List<Product> findAllWithCategoriesAndImageByIdIn(@Param("ids") Collection<Long> ids);
 
     /**
      * Find product by id where deleted is false
@@ -63,4 +56,78 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             nativeQuery = true
     )
     void saveAllCategories(@Param("productId") Long productId, @Param("categoryIds") Set<Long> categoryIds);
+
+    /**
+     * Delete the links of the product to the categories
+     *
+     * @param productId
+     * @param categoryIds
+     * @return void
+     */
+    @Modifying
+    @Query(
+            value = "DELETE FROM products_categories WHERE product_id = :productId AND category_id IN :categoryIds",
+            nativeQuery = true
+    )
+    void deleteCategories(@Param("productId") Long productId, @Param("categoryIds") Set<Long> categoryIds);
+
+    /**
+     * Find the category ids of the product
+     *
+     * @param productId
+     * @return List<Long>
+     */
+    @Query(
+            value = "SELECT category_id FROM products_categories WHERE product_id = :productId",
+            nativeQuery = true
+    )
+    List<Long> findCategoryIdsByProductId(@Param("productId") Long productId);
+
+    /**
+     * Find the id and name of the next products after the given id, used to build the search index
+     *
+     * @param after
+     * @param pageable
+     * @return List<Object[]>
+     */
+    @Query(
+            "SELECT p.id, p.name FROM Product p WHERE p.deleted = false AND p.id > :after ORDER BY p.id ASC"
+    )
+    List<Object[]> findIndexableProducts(@Param("after") Long after, Pageable pageable);
+
+    /**
+     * Find the category ids of the products, as (product id, category id) pairs
+     *
+     * @param productIds
+     * @return List<Object[]>
+     */
+    @Query(
+            value = "SELECT product_id, category_id FROM products_categories WHERE product_id IN :productIds",
+            nativeQuery = true
+    )
+    List<Object[]> findCategoryIdsByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Find the ids of the products linked to a category
+     *
+     * @param categoryId
+     * @return List<Long>
+     */
+    @Query(
+            value = "SELECT product_id FROM products_categories WHERE category_id = :categoryId",
+            nativeQuery = true
+    )
+    List<Long> findProductIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    /**
+     * Find the compact batch view of the products, including deleted ones, as
+     * (id, name, price, seller id, deleted, image url) rows
+     *
+     * @param ids
+     * @return List<Object[]>
+     */
+    @Query(
+            "SELECT p.id, p.name, p.price, p.sellerId, p.deleted, i.url FROM Product p LEFT JOIN p.image i WHERE p.id IN :ids"
+    )
+    List<Object[]> findBatchItemsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,16 +1,24 @@
 package br.com.solutis.squad1.catalogservice.model.repository;
 
+import br.com.solutis.squad1.catalogservice.cache.CategoryRegistry;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductPatchDto;
 import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
 import br.com.solutis.squad1.catalogservice.model.entity.Category;
 import br.com.solutis.squad1.catalogservice.model.entity.Product;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -23,66 +31,334 @@ import java.util.List;
  * It is designed to work in conjunction with the standard {@link org.springframework.data.repository.CrudRepository} for the {@link Product} entity.
  *
  * Methods:
- * - {@link #findAllWithFilterAndDeletedFalse(String, String, Pageable)}: Find all products when deleted is false with pagination.
- * - {@link #findAllWithFilterBySellerIdAndDeletedFalse(Long, String, String, Pageable)}: Find all products when deleted is false with pagination and filter by seller ID.
+ * - {@link #findAllWithFilterAndDeletedFalse(String, String, Pageable)}: Find a page of products when deleted is false.
+ * - {@link #findAllWithFilterBySellerIdAndDeletedFalse(Long, String, String, Pageable)}: Find a page of products when deleted is false and filter by seller ID.
+ * - {@link #countWithFilterAndDeletedFalse(Long, String, String)}: Count the products matching the filters, optionally of a seller.
+ * - {@link #findAllSliceWithFilterAndDeletedFalse(String, String, Pageable)}: Find a slice of products without counting the total.
+ * - {@link #findAllSliceWithFilterBySellerIdAndDeletedFalse(Long, String, String, Pageable)}: Find a slice of products of a seller without counting the total.
+ * - {@link #searchWithFullTextAndDeletedFalse(String, String, Pageable)}: Full-text search over name and description ranked by relevance.
+ * - {@link #countWithFullTextAndDeletedFalse(String, String)}: Count the products matching the full-text search.
+ * - {@link #findAllWithFilterAndDeletedFalseAfter(String, String, Long, int)}: Find the next products after a cursor (keyset pagination).
+ * - {@link #findAllWithFilterBySellerIdAndDeletedFalseAfter(Long, String, String, Long, int)}: Find the next products of a seller after a cursor (keyset pagination).
  *
  * Private methods:
  * - {@link #setPagination(Pageable, TypedQuery)}: Set pagination parameters for the query.
- * - {@link #setQueryParameter(String, String, TypedQuery)}: Set query parameters based on optional filters (product name, category name).
- * - {@link #findCategoryByName(String)}: Find a category by name. This method is used internally for filtering by category name.
- * - {@link #getFindAllBySellerIdQuery(String, String)}: Construct a native query for finding products by seller ID.
- * - {@link #getFindAllQuery(String, String)}: Construct a query for finding all products with optional filters.
+ * - {@link #setQueryParameter(String, String, Long, Query)}: Set query parameters based on optional filters (product name, category name, cursor).
+ * - {@link #getCountQuery(Long, String, String)}: Construct the count query matching the find queries.
+ * - {@link #findCategoryByName(String)}: Find a category by name in the {@link CategoryRegistry}. This method is used internally for filtering by category name.
+ * - {@link #getFindAllBySellerIdQuery(String, String, Long, Sort)}: Construct a native query for finding products by seller ID.
+ * - {@link #getFindAllQuery(String, String, Long, Sort)}: Construct a query for finding all products with optional filters.
+ * - {@link #appendOrderBy(StringBuilder, String, Sort, boolean)}: Append the ordering, by id or by name similarity ({@code sort=similarity}).
+ * - {@link #getFullTextSearchQuery(String, boolean)}: Construct the native full-text search query, or its count.
+ *
+ * The product name filter is a case-insensitive substring match ({@code ILIKE}) served by the trigram index on
+ * {@code products(name)}. The full-text search uses the generated {@code search_vector} column (Portuguese configuration)
+ * and its GIN index, ordering by {@code ts_rank}.
+ *
+ * The page queries return only the content; the totals are counted separately, so the caller decides when to count
+ * them and whether to cache them.
  *
  * The class uses the JPA {@link PersistenceContext} annotation to inject the EntityManager, allowing it to interact with the database.
  */
 @Repository
+@RequiredArgsConstructor
 public class ProductRepositoryCustom {
+    private static final String NAME_FILTER = " AND p.name ILIKE CONCAT('%', :name, '%')";
+    private static final String SIMILARITY_SORT = "similarity";
+
+    private final CategoryRegistry categoryRegistry;
+
     @PersistenceContext
     private EntityManager em;
 
     /**
-     * Find all products when deleted is false with pagination
+     * Find a page of products when deleted is false, without counting the total
      *
      * @param productName
      * @param categoryName
      * @param pageable
-     * @return Page<Product>
+     * @return List<Product>
      */
-    public Page<Product> findAllWithFilterAndDeletedFalse(String productName, String categoryName, Pageable pageable) {
-        TypedQuery<Product> typedQuery = getFindAllQuery(productName, categoryName);
+    public List<Product> findAllWithFilterAndDeletedFalse(String productName, String categoryName, Pageable pageable) {
+        TypedQuery<Product> typedQuery = getFindAllQuery(productName, categoryName, null, pageable.getSort());
 
-        setQueryParameter(productName, categoryName, typedQuery);
+        setQueryParameter(productName, categoryName, null, typedQuery);
 
         setPagination(pageable, typedQuery);
 
-        List<Product> resultList = typedQuery.getResultList();
-        return new PageImpl<>(resultList, pageable, resultList.size());
+        return typedQuery.getResultList();
     }
 
     /**
-     * Find all products when deleted is false with pagination and filter by seller id
+     * Find a page of products when deleted is false and filter by seller id, without counting the total
      *
      * @param sellerId
      * @param productName
      * @param categoryName
      * @param pageable
-     * @return Page<Product>
+     * @return List<Product>
      */
-    public Page<Product> findAllWithFilterBySellerIdAndDeletedFalse(
+    public List<Product> findAllWithFilterBySellerIdAndDeletedFalse(
             Long sellerId,
             String productName,
             String categoryName,
             Pageable pageable
     ) {
-        TypedQuery<Product> typedQuery = getFindAllBySellerIdQuery(productName, categoryName);
+        TypedQuery<Product> typedQuery = getFindAllBySellerIdQuery(productName, categoryName, null, pageable.getSort());
         typedQuery.setParameter("sellerId", sellerId);
 
-        setQueryParameter(productName, categoryName, typedQuery);
+        setQueryParameter(productName, categoryName, null, typedQuery);
 
         setPagination(pageable, typedQuery);
 
-        List<Product> resultList = typedQuery.getResultList();
-        return new PageImpl<>(resultList, pageable, resultList.size());
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * Count the products when deleted is false matching the filters, of a seller when the seller id is informed
+     *
+     * @param sellerId
+     * @param productName
+     * @param categoryName
+     * @return long
+     */
+    public long countWithFilterAndDeletedFalse(Long sellerId, String productName, String categoryName) {
+        Query countQuery = getCountQuery(sellerId, productName, categoryName);
+        if (sellerId != null) {
+            countQuery.setParameter("sellerId", sellerId);
+        }
+
+        setQueryParameter(productName, categoryName, null, countQuery);
+
+        return ((Number) countQuery.getSingleResult()).longValue();
+    }
+
+    /**
+     * Full-text search over product name and description when deleted is false, ranked by relevance, without counting
+     * the total
+     *
+     * @param searchQuery
+     * @param categoryName
+     * @param pageable
+     * @return List<Product>
+     */
+    public List<Product> searchWithFullTextAndDeletedFalse(String searchQuery, String categoryName, Pageable pageable) {
+        TypedQuery<Product> typedQuery = getFullTextSearchQuery(categoryName, false).unwrap(TypedQuery.class);
+        typedQuery.setParameter("q", searchQuery);
+
+        setQueryParameter(null, categoryName, null, typedQuery);
+
+        setPagination(pageable, typedQuery);
+
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * Count the products when deleted is false matching the full-text search
+     *
+     * @param searchQuery
+     * @param categoryName
+     * @return long
+     */
+    public long countWithFullTextAndDeletedFalse(String searchQuery, String categoryName) {
+        Query countQuery = getFullTextSearchQuery(categoryName, true);
+        countQuery.setParameter("q", searchQuery);
+
+        setQueryParameter(null, categoryName, null, countQuery);
+
+        return ((Number) countQuery.getSingleResult()).longValue();
+    }
+
+    /**
+     * Find a slice of products when deleted is false, without counting the total
+     *
+     * @param productName
+     * @param categoryName
+     * @param pageable
+     * @return Slice<Product>
+     */
+    public Slice<Product> findAllSliceWithFilterAndDeletedFalse(String productName, String categoryName, Pageable pageable) {
+        TypedQuery<Product> typedQuery = getFindAllQuery(productName, categoryName, null, pageable.getSort());
+
+        setQueryParameter(productName, categoryName, null, typedQuery);
+
+        return getSlice(pageable, typedQuery);
+    }
+
+    /**
+     * Find a slice of products when deleted is false and filter by seller id, without counting the total
+     *
+     * @param sellerId
+     * @param productName
+     * @param categoryName
+     * @param pageable
+     * @return Slice<Product>
+     */
+    public Slice<Product> findAllSliceWithFilterBySellerIdAndDeletedFalse(
+            Long sellerId,
+            String productName,
+            String categoryName,
+            Pageable pageable
+    ) {
+        TypedQuery<Product> typedQuery = getFindAllBySellerIdQuery(productName, categoryName, null, pageable.getSort());
+        typedQuery.setParameter("sellerId", sellerId);
+
+        setQueryParameter(productName, categoryName, null, typedQuery);
+
+        return getSlice(pageable, typedQuery);
+    }
+
+    /**
+     * Find the next products after the cursor when deleted is false (keyset pagination)
+     *
+     * @param productName
+     * @param categoryName
+     * @param cursor last product id of the previous page, null for the first page
+     * @param limit
+     * @return List<Product>
+     */
+    public List<Product> findAllWithFilterAndDeletedFalseAfter(
+            String productName,
+            String categoryName,
+            Long cursor,
+            int limit
+    ) {
+        TypedQuery<Product> typedQuery = getFindAllQuery(productName, categoryName, cursor, Sort.unsorted());
+
+        setQueryParameter(productName, categoryName, cursor, typedQuery);
+
+        typedQuery.setMaxResults(limit);
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * Find the next products of a seller after the cursor when deleted is false (keyset pagination)
+     *
+     * @param sellerId
+     * @param productName
+     * @param categoryName
+     * @param cursor last product id of the previous page, null for the first page
+     * @param limit
+     * @return List<Product>
+     */
+    public List<Product> findAllWithFilterBySellerIdAndDeletedFalseAfter(
+            Long sellerId,
+            String productName,
+            String categoryName,
+            Long cursor,
+            int limit
+    ) {
+        TypedQuery<Product> typedQuery = getFindAllBySellerIdQuery(productName, categoryName, cursor, Sort.unsorted());
+        typedQuery.setParameter("sellerId", sellerId);
+
+        setQueryParameter(productName, categoryName, cursor, typedQuery);
+
+        typedQuery.setMaxResults(limit);
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * Update the price, name and description of the products when deleted is false, with a single statement
+     *
+     * The changes are joined to the products as a {@code VALUES} list; null fields keep the current value.
+     *
+     * @param productPatchDtos changes with distinct ids
+     * @return List<Long> ids of the updated products
+     */
+    public List<Long> updateAllDeletedFalse(List<ProductPatchDto> productPatchDtos) {
+        if (productPatchDtos.isEmpty()) return List.of();
+
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < productPatchDtos.size(); i++) {
+            if (i > 0) values.append(", ");
+            // Os casts tipam a lista, inclusive as colunas em que todos os valores são nulos
+            values.append("(CAST(:id").append(i).append(" AS bigint), CAST(:price").append(i)
+                    .append(" AS numeric), CAST(:name").append(i).append(" AS varchar), CAST(:description").append(i)
+                    .append(" AS varchar))");
+        }
+
+        NativeQuery<?> query = em.createNativeQuery(
+                "UPDATE products p SET price = COALESCE(v.price, p.price), name = COALESCE(v.name, p.name), " +
+                        "description = COALESCE(v.description, p.description), updated_at = LOCALTIMESTAMP " +
+                        "FROM (VALUES " + values + ") AS v(id, price, name, description) " +
+                        "WHERE p.id = v.id AND p.deleted = false RETURNING p.id"
+        ).unwrap(NativeQuery.class);
+
+        for (int i = 0; i < productPatchDtos.size(); i++) {
+            ProductPatchDto productPatchDto = productPatchDtos.get(i);
+            query.setParameter("id" + i, productPatchDto.id(), Long.class);
+            query.setParameter("price" + i, productPatchDto.price(), BigDecimal.class);
+            query.setParameter("name" + i, productPatchDto.name(), String.class);
+            query.setParameter("description" + i, productPatchDto.description(), String.class);
+        }
+
+        return query.getResultList().stream()
+                .map(id -> ((Number) id).longValue())
+                .toList();
+    }
+
+    /**
+     * Soft-delete all products of a seller when deleted is false, with a single statement
+     *
+     * @param sellerId
+     * @return List<Long> ids of the deleted products
+     */
+    public List<Long> softDeleteAllBySellerId(Long sellerId) {
+        return softDeleteAll("seller_id = :filter", sellerId);
+    }
+
+    /**
+     * Soft-delete the products when deleted is false, with a single statement
+     *
+     * @param ids
+     * @return List<Long> ids of the deleted products
+     */
+    public List<Long> softDeleteAllByIdIn(Collection<Long> ids) {
+        return softDeleteAll("id IN :filter", ids);
+    }
+
+    /**
+     * Restore all soft-deleted products of a seller, with a single statement
+     *
+     * @param sellerId
+     * @return List<Object[]> (id, name) of the restored products
+     */
+    public List<Object[]> restoreAllBySellerId(Long sellerId) {
+        return restoreAll("seller_id = :filter", sellerId);
+    }
+
+    /**
+     * Restore the soft-deleted products, with a single statement
+     *
+     * @param ids
+     * @return List<Object[]> (id, name) of the restored products
+     */
+    public List<Object[]> restoreAllByIdIn(Collection<Long> ids) {
+        return restoreAll("id IN :filter", ids);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> softDeleteAll(String filter, Object value) {
+        Query query = em.createNativeQuery(
+                "UPDATE products SET deleted = true, deleted_at = LOCALTIMESTAMP WHERE " + filter +
+                        " AND deleted = false RETURNING id"
+        );
+        query.setParameter("filter", value);
+
+        return ((List<Object>) query.getResultList()).stream()
+                .map(id -> ((Number) id).longValue())
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> restoreAll(String filter, Object value) {
+        Query query = em.createNativeQuery(
+                "UPDATE products SET deleted = false, deleted_at = NULL, updated_at = LOCALTIMESTAMP WHERE " + filter +
+                        " AND deleted = true RETURNING id, name"
+        );
+        query.setParameter("filter", value);
+
+        return query.getResultList();
     }
 
     private void setPagination(Pageable pageable, TypedQuery<Product> typedQuery) {
@@ -90,30 +366,66 @@ public class ProductRepositoryCustom {
         typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
     }
 
-    private void setQueryParameter(String productName, String categoryName, TypedQuery<Product> typedQuery) {
+    private Slice<Product> getSlice(Pageable pageable, TypedQuery<Product> typedQuery) {
+        // Busca um elemento a mais para saber se existe uma próxima página sem contar o total
+        typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
+
+        List<Product> resultList = typedQuery.getResultList();
+        boolean hasNext = resultList.size() > pageable.getPageSize();
+        List<Product> content = hasNext ? resultList.subList(0, pageable.getPageSize()) : resultList;
+
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    private void setQueryParameter(String productName, String categoryName, Long cursor, Query query) {
         if (productName != null) {
-            typedQuery.setParameter("name", productName);
+            query.setParameter("name", productName);
+        }
+        if (cursor != null) {
+            query.setParameter("cursor", cursor);
         }
         if (categoryName != null) {
             Category category = findCategoryByName(categoryName);
 
-            typedQuery.setParameter("categoryId", category.getId());
+            query.setParameter("categoryId", category.getId());
         }
     }
 
-    private Category findCategoryByName(String categoryName) {
-        try {
-            String findCategoryByNameAndDeletedFalseStringQuery = "SELECT c FROM Category c WHERE c.name = :categoryName AND c.deleted = false";
-            TypedQuery<Category> findCategoryByNameAndDeletedFalseQuery = em.createQuery(findCategoryByNameAndDeletedFalseStringQuery, Category.class);
-            findCategoryByNameAndDeletedFalseQuery.setParameter("categoryName", categoryName);
+    private Query getCountQuery(Long sellerId, String productName, String categoryName) {
+        StringBuilder query;
+
+        if (categoryName == null) {
+            query = new StringBuilder(
+                    "SELECT count(p) FROM Product p WHERE p.deleted = false"
+            );
+        } else {
+            query = new StringBuilder(
+                    "SELECT count(*) FROM products p JOIN products_categories pc ON p.id = pc.product_id WHERE pc.category_id = :categoryId AND p.deleted = false"
+            );
+        }
 
-            return findCategoryByNameAndDeletedFalseQuery.getSingleResult();
-        } catch (Exception e) {
-            throw new EntityNotFoundException("Category not found");
+        if (sellerId != null) {
+            query.append(categoryName == null ? " AND p.sellerId = :sellerId" : " AND p.seller_id = :sellerId");
         }
+
+        if (productName != null) {
+            query.append(NAME_FILTER);
+        }
+
+        if (categoryName != null) {
+            return em.createNativeQuery(query.toString());
+        }
+
+        return em.createQuery(query.toString());
     }
 
-    private TypedQuery<Product> getFindAllBySellerIdQuery(String productName, String categoryName) {
+    private Category findCategoryByName(String categoryName) {
+        return categoryRegistry.findByName(categoryName)
+                .orElseThrow(() -> new EntityNotFoundException("Category not found"));
+    }
+
+    private TypedQuery<Product> getFindAllBySellerIdQuery(String productName, String categoryName, Long cursor, Sort sort) {
         StringBuilder query;
 
         if (categoryName == null) {
@@ -127,10 +439,14 @@ public class ProductRepositoryCustom {
         }
 
         if (productName != null) {
-            query.append(" AND p.name LIKE CONCAT('%', :name, '%')");
+            query.append(NAME_FILTER);
         }
 
-        query.append(" ORDER BY p.id ASC");
+        if (cursor != null) {
+            query.append(" AND p.id > :cursor");
+        }
+
+        appendOrderBy(query, productName, sort, categoryName != null);
 
         if (categoryName != null) {
             return em.createNativeQuery(query.toString(), Product.class).unwrap(TypedQuery.class);
@@ -139,7 +455,7 @@ public class ProductRepositoryCustom {
         return em.createQuery(query.toString(), Product.class);
     }
 
-    private TypedQuery<Product> getFindAllQuery(String productName, String categoryName) {
+    private TypedQuery<Product> getFindAllQuery(String productName, String categoryName, Long cursor, Sort sort) {
         StringBuilder query;
 
         if (categoryName == null) {
@@ -153,10 +469,14 @@ public class ProductRepositoryCustom {
         }
 
         if (productName != null) {
-            query.append(" AND p.name LIKE CONCAT('%', :name, '%')");
+            query.append(NAME_FILTER);
         }
 
-        query.append(" ORDER BY p.id ASC");
+        if (cursor != null) {
+            query.append(" AND p.id > :cursor");
+        }
+
+        appendOrderBy(query, productName, sort, categoryName != null);
 
         if (categoryName != null) {
             return em.createNativeQuery(query.toString(), Product.class).unwrap(TypedQuery.class);
@@ -164,4 +484,36 @@ public class ProductRepositoryCustom {
 
         return em.createQuery(query.toString(), Product.class);
     }
+
+    private void appendOrderBy(StringBuilder query, String productName, Sort sort, boolean nativeQuery) {
+        if (productName != null && sort.getOrderFor(SIMILARITY_SORT) != null) {
+            query.append(nativeQuery
+                    ? " ORDER BY similarity(p.name, :name) DESC, p.id ASC"
+                    : " ORDER BY function('similarity', p.name, :name) DESC, p.id ASC");
+            return;
+        }
+
+        query.append(" ORDER BY p.id ASC");
+    }
+
+    private Query getFullTextSearchQuery(String categoryName, boolean count) {
+        StringBuilder query = new StringBuilder(count ? "SELECT count(*) FROM products p" : "SELECT p.* FROM products p");
+
+        if (categoryName != null) {
+            query.append(" JOIN products_categories pc ON p.id = pc.product_id");
+        }
+
+        query.append(" WHERE p.deleted = false AND p.search_vector @@ websearch_to_tsquery('portuguese', :q)");
+
+        if (categoryName != null) {
+            query.append(" AND pc.category_id = :categoryId");
+        }
+
+        if (count) {
+            return em.createNativeQuery(query.toString());
+        }
+
+        query.append(" ORDER BY ts_rank(p.search_vector, websearch_to_tsquery('portuguese', :q)) DESC, p.id ASC");
+        return em.createNativeQuery(query.toString(), Product.class);
+    }
 }
@@ -0,0 +1,41 @@
+package br.com.solutis.squad1.catalogservice.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * {@link OutboxSink} that keeps the last {@code catalog.outbox.memory.capacity} events in memory, for development and
+ * tests.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.outbox.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOutboxSink implements OutboxSink {
+    private final int capacity;
+    private final Deque<OutboxEvent> events = new ArrayDeque<>();
+
+    public InMemoryOutboxSink(@Value("${catalog.outbox.memory.capacity:1000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) {
+        for (OutboxEvent event : batch) {
+            if (events.size() == capacity) events.removeFirst();
+            events.addLast(event);
+        }
+    }
+
+    /**
+     * Events published so far, oldest first
+     *
+     * @return List<OutboxEvent>
+     */
+    public synchronized List<OutboxEvent> events() {
+        return List.copyOf(events);
+    }
+}
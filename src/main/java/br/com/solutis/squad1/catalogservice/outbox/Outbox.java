@@ -0,0 +1,73 @@
+package br.com.solutis.squad1.catalogservice.outbox;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes change events to the {@code outbox_events} table, in the transaction of the change.
+ *
+ * The events are only visible to the {@link OutboxRelay} if the change commits, and are lost with it if it rolls back.
+ * Must be called inside a transaction.
+ */
+@Component
+public class Outbox {
+    private static final int CHUNK_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * Append an event for an aggregate
+     *
+     * @param aggregate
+     * @param aggregateId
+     * @param type
+     */
+    public void append(OutboxEvent.Aggregate aggregate, Long aggregateId, OutboxEvent.Type type) {
+        appendAll(aggregate, List.of(aggregateId), type);
+    }
+
+    /**
+     * Append the same event for several aggregates, with one insert per chunk
+     *
+     * @param aggregate
+     * @param aggregateIds
+     * @param type
+     */
+    public void appendAll(OutboxEvent.Aggregate aggregate, Collection<Long> aggregateIds, OutboxEvent.Type type) {
+        if (aggregateIds.isEmpty()) return;
+
+        // Grava antes as alterações pendentes: o id do evento só é gerado depois do lock das linhas alteradas, então
+        // os eventos de um mesmo produto ficam na ordem dos commits
+        em.flush();
+
+        List<Long> ids = List.copyOf(aggregateIds);
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            insert(aggregate, ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())), type);
+        }
+    }
+
+    private void insert(OutboxEvent.Aggregate aggregate, List<Long> aggregateIds, OutboxEvent.Type type) {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < aggregateIds.size(); i++) {
+            if (i > 0) values.append(", ");
+            values.append("(nextval('outbox_events_seq'), :aggregate, :id").append(i).append(", :type, LOCALTIMESTAMP)");
+        }
+
+        Query query = em.createNativeQuery(
+                "INSERT INTO outbox_events (id, aggregate, aggregate_id, type, created_at) VALUES " + values
+        );
+        query.setParameter("aggregate", aggregate.name());
+        query.setParameter("type", type.name());
+        for (int i = 0; i < aggregateIds.size(); i++) {
+            query.setParameter("id" + i, aggregateIds.get(i));
+        }
+
+        query.executeUpdate();
+    }
+}
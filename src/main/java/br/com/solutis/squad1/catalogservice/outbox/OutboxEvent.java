@@ -0,0 +1,30 @@
+package br.com.solutis.squad1.catalogservice.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compact change event published to the downstream services.
+ *
+ * Carries only what changed, not the new state: consumers fetch the current state (e.g. with the batch endpoint)
+ * when they need it. {@code id} grows with the order of the changes, and the events of an aggregate are published in
+ * that order; delivery is at least once, so consumers must ignore ids they have already seen.
+ */
+public record OutboxEvent(
+        Long id,
+        Aggregate aggregate,
+        Long aggregateId,
+        Type type,
+        LocalDateTime occurredAt
+) {
+    public enum Aggregate {
+        PRODUCT,
+        CATEGORY
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        RESTORED
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.solutis.squad1.catalogservice.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the pending outbox events to the {@link OutboxSink}, in batches and in id order.
+ *
+ * Every {@code catalog.outbox.relay.interval} the relay reads up to {@code catalog.outbox.relay.batch-size} pending
+ * events, publishes them and marks them as published in the same transaction, until no full batch is left. A batch
+ * that fails is published again on the next run, so delivery is at least once. A PostgreSQL advisory lock keeps a
+ * single relay running across the instances, which keeps the events of each product in order. Published events are
+ * deleted after {@code catalog.outbox.retention}.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+    // Chave do advisory lock que garante um único relay publicando por vez entre as instâncias
+    private static final long LOCK_KEY = 0x6f7574626f78L;
+    private static final Duration CLEANUP_INTERVAL = Duration.ofHours(1);
+
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration interval;
+    private final Duration retention;
+    private final ScheduledExecutorService scheduler;
+    private final Counter publishedEvents;
+    private final Counter failedBatches;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public OutboxRelay(
+            OutboxSink sink,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.outbox.relay.enabled:true}") boolean enabled,
+            @Value("${catalog.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${catalog.outbox.relay.interval:1s}") Duration interval,
+            @Value("${catalog.outbox.retention:7d}") Duration retention
+    ) {
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.interval = interval;
+        this.retention = retention;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publishedEvents = meterRegistry.counter("outbox.events.published");
+        this.failedBatches = meterRegistry.counter("outbox.batches.failed");
+    }
+
+    /**
+     * Start relaying the events once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+
+        scheduler.scheduleWithFixedDelay(this::drain, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::cleanup, 0, CLEANUP_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Outbox relay started, publishing to {}", sink.getClass().getSimpleName());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Publish one batch of pending events
+     *
+     * @return int number of events published, 0 when there are none or another instance is publishing
+     */
+    public int relay() {
+        Integer published = transactionTemplate.execute(status -> {
+            boolean locked = (Boolean) em.createNativeQuery("SELECT pg_try_advisory_xact_lock(:key)")
+                    .setParameter("key", LOCK_KEY)
+                    .getSingleResult();
+            if (!locked) return 0;
+
+            List<OutboxEvent> events = findPending();
+            if (events.isEmpty()) return 0;
+
+            try {
+                sink.publish(events);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            em.createNativeQuery("UPDATE outbox_events SET published_at = LOCALTIMESTAMP WHERE id IN :ids")
+                    .setParameter("ids", events.stream().map(OutboxEvent::id).toList())
+                    .executeUpdate();
+            return events.size();
+        });
+
+        publishedEvents.increment(published);
+        return published;
+    }
+
+    private void drain() {
+        try {
+            int published;
+            do {
+                published = relay();
+            } while (published == batchSize);
+        } catch (Exception e) {
+            failedBatches.increment();
+            log.warn("Could not publish the outbox events, retrying in {}", interval, e);
+        }
+    }
+
+    private void cleanup() {
+        try {
+            Integer deleted = transactionTemplate.execute(status -> em
+                    .createNativeQuery("DELETE FROM outbox_events WHERE published_at < :before")
+                    .setParameter("before", LocalDateTime.now().minus(retention))
+                    .executeUpdate());
+            if (deleted != null && deleted > 0) log.info("Deleted {} published outbox events", deleted);
+        } catch (Exception e) {
+            log.warn("Could not delete the published outbox events", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OutboxEvent> findPending() {
+        List<Object[]> rows = em.createNativeQuery(
+                        "SELECT id, aggregate, aggregate_id, type, created_at FROM outbox_events " +
+                                "WHERE published_at IS NULL ORDER BY id LIMIT :limit"
+                )
+                .setParameter("limit", batchSize)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("aggregate", String.class)
+                .addScalar("aggregate_id", Long.class)
+                .addScalar("type", String.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new OutboxEvent(
+                        (Long) row[0],
+                        OutboxEvent.Aggregate.valueOf((String) row[1]),
+                        (Long) row[2],
+                        OutboxEvent.Type.valueOf((String) row[3]),
+                        (LocalDateTime) row[4]
+                ))
+                .toList();
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.solutis.squad1.catalogservice.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of the outbox events, selected by {@code catalog.outbox.sink}.
+ *
+ * A batch must be delivered as a whole or fail: the relay retries failed batches, in the same order, until they are
+ * delivered. To publish to a message broker, register a sink bean for a new {@code catalog.outbox.sink} value.
+ */
+public interface OutboxSink {
+
+    /**
+     * Deliver a batch of events, ordered by id
+     *
+     * @param events
+     * @throws IOException when the batch could not be delivered
+     */
+    void publish(List<OutboxEvent> events) throws IOException;
+}
@@ -0,0 +1,64 @@
+package br.com.solutis.squad1.catalogservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link OutboxSink} that posts each batch as a JSON array to {@code catalog.outbox.webhook.url}.
+ *
+ * Any response other than 2xx fails the batch, which is posted again on the next relay run.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.outbox.sink", havingValue = "webhook")
+public class WebhookOutboxSink implements OutboxSink {
+    private final ObjectMapper objectMapper;
+    private final URI url;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+
+    public WebhookOutboxSink(
+            ObjectMapper objectMapper,
+            @Value("${catalog.outbox.webhook.url}") URI url,
+            @Value("${catalog.outbox.webhook.timeout:5s}") Duration timeout
+    ) {
+        this.objectMapper = objectMapper;
+        this.url = url;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(events)))
+                .build();
+
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while posting the outbox events", e);
+        }
+
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Outbox webhook answered with status " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package br.com.solutis.squad1.catalogservice.search;
+
+import br.com.solutis.squad1.catalogservice.model.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.PeekableLongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index used to answer product name and category searches without querying Postgres.
+ *
+ * The index maps name trigrams and category ids to compressed bitmaps of product ids ({@link Roaring64Bitmap}, ids are
+ * bigint). A name query has the semantics of the database filter ({@code name ILIKE '%' || :name || '%'}): a
+ * case-insensitive substring match, accents included. The trigrams of the query narrow the candidates, which are then
+ * checked against their names. Names with ILIKE wildcards, and names shorter than a trigram (which would have to be
+ * checked against every product), are left to the database (see {@link #canSearch(String)}).
+ * Only the ids of the requested page are returned, the database is then used just to hydrate them.
+ *
+ * The index is built at startup from the {@link ProductRepository} when {@code catalog.search.in-memory.enabled} is
+ * true, and kept up to date by the {@link br.com.solutis.squad1.catalogservice.service.ProductService} mutations.
+ * Updates made while the index is being built are replayed on the new index before it is published.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex {
+    private static final int BUILD_CHUNK_SIZE = 5000;
+    private static final int TRIGRAM_LENGTH = 3;
+
+    private final ProductRepository productRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Consumer<IndexData>> pendingUpdates = new ArrayList<>();
+
+    @Value("${catalog.search.in-memory.enabled:false}")
+    private boolean enabled;
+
+    private IndexData data = new IndexData();
+    private boolean building;
+    private volatile boolean ready;
+
+    /**
+     * Build the index from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) return;
+
+        log.info("Building product search index");
+        write(() -> building = true);
+
+        IndexData newData = new IndexData();
+        Long after = 0L;
+        while (true) {
+            List<Object[]> products = productRepository.findIndexableProducts(after, PageRequest.ofSize(BUILD_CHUNK_SIZE));
+            if (products.isEmpty()) break;
+
+            List<Long> ids = products.stream().map(row -> ((Number) row[0]).longValue()).toList();
+            Map<Long, Set<Long>> categories = productRepository.findCategoryIdsByProductIds(ids).stream()
+                    .collect(Collectors.groupingBy(
+                            row -> ((Number) row[0]).longValue(),
+                            Collectors.mapping(row -> ((Number) row[1]).longValue(), Collectors.toSet())
+                    ));
+
+            for (Object[] row : products) {
+                Long id = ((Number) row[0]).longValue();
+                newData.add(id, normalize((String) row[1]), categories.getOrDefault(id, Set.of()));
+            }
+
+            after = ids.get(ids.size() - 1);
+        }
+        newData.optimize();
+
+        write(() -> {
+            pendingUpdates.forEach(update -> update.accept(newData));
+            pendingUpdates.clear();
+            data = newData;
+            building = false;
+            ready = true;
+        });
+        log.info("Product search index built with {} products", newData.all.getLongCardinality());
+    }
+
+    /**
+     * Whether the index is enabled and built
+     *
+     * @return boolean
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether the index is built and answers the name filter like the database does, narrowing it by trigrams
+     *
+     * @param productName
+     * @return boolean
+     */
+    public boolean canSearch(String productName) {
+        if (!ready) return false;
+        if (productName == null) return true;
+
+        // Nomes sem trigrama não reduzem os candidatos e teriam de ser conferidos em todos os produtos
+        if (normalize(productName).length() < TRIGRAM_LENGTH) return false;
+
+        // Na consulta do banco o nome entra no padrão do ILIKE: %, _ e \ funcionam como curingas
+        return productName.chars().noneMatch(c -> c == '%' || c == '_' || c == '\\');
+    }
+
+    /**
+     * Add or replace a product in the index
+     *
+     * @param productId
+     * @param name
+     * @param categoryIds
+     */
+    public void index(Long productId, String name, Collection<Long> categoryIds) {
+        if (!enabled) return;
+
+        String normalizedName = normalize(name);
+        Set<Long> categories = Set.copyOf(categoryIds);
+        apply(indexData -> indexData.add(productId, normalizedName, categories));
+    }
+
+    /**
+     * Remove a product from the index
+     *
+     * @param productId
+     */
+    public void remove(Long productId) {
+        if (!enabled) return;
+
+        apply(indexData -> indexData.remove(productId));
+    }
+
+    /**
+     * Find a page of product ids matching the name and category, ordered by id
+     *
+     * The name must be accepted by {@link #canSearch(String)}.
+     *
+     * @param productName
+     * @param categoryId
+     * @param offset
+     * @param limit
+     * @return SearchResult
+     */
+    public SearchResult search(String productName, Long categoryId, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            String query = normalize(productName);
+            List<Roaring64Bitmap> filters = new ArrayList<>();
+            if (categoryId != null) filters.add(data.categories.get(categoryId));
+            trigrams(query).forEach(trigram -> filters.add(data.postings.get(trigram)));
+            if (filters.contains(null)) return new SearchResult(List.of(), 0);
+
+            // A interseção parte da menor lista, sem copiar o bitmap de todos os produtos
+            Roaring64Bitmap result = data.all;
+            if (!filters.isEmpty()) {
+                filters.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+                result = filters.get(0).clone();
+                for (Roaring64Bitmap filter : filters.subList(1, filters.size())) {
+                    result.and(filter);
+                }
+            }
+
+            if (query != null) {
+                // Os trigramas só reduzem os candidatos: a substring é conferida no nome de cada um
+                Roaring64Bitmap matches = new Roaring64Bitmap();
+                result.forEach(id -> {
+                    String name = data.products.get(id).name();
+                    if (name != null && name.contains(query)) matches.addLong(id);
+                });
+                result = matches;
+            }
+
+            long total = result.getLongCardinality();
+            List<Long> ids = new ArrayList<>(limit);
+            if (offset < total) {
+                PeekableLongIterator iterator = result.getLongIteratorFrom(result.select(offset));
+                while (iterator.hasNext() && ids.size() < limit) {
+                    ids.add(iterator.next());
+                }
+            }
+
+            return new SearchResult(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String normalize(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> trigrams(String text) {
+        if (text == null) return Set.of();
+
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private void apply(Consumer<IndexData> update) {
+        write(() -> {
+            update.accept(data);
+            if (building) pendingUpdates.add(update);
+        });
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public record SearchResult(List<Long> ids, long total) {
+    }
+
+    private record IndexedProduct(String name, Set<String> trigrams, Set<Long> categoryIds) {
+    }
+
+    private static final class IndexData {
+        private final Map<String, Roaring64Bitmap> postings = new HashMap<>();
+        private final Map<Long, Roaring64Bitmap> categories = new HashMap<>();
+        private final Map<Long, IndexedProduct> products = new HashMap<>();
+        private final Roaring64Bitmap all = new Roaring64Bitmap();
+
+        private void add(Long productId, String name, Set<Long> categoryIds) {
+            remove(productId);
+
+            Set<String> trigrams = trigrams(name);
+            trigrams.forEach(trigram -> postings.computeIfAbsent(trigram, key -> new Roaring64Bitmap())
+                    .addLong(productId));
+            categoryIds.forEach(categoryId -> categories.computeIfAbsent(categoryId, key -> new Roaring64Bitmap())
+                    .addLong(productId));
+            products.put(productId, new IndexedProduct(name, trigrams, categoryIds));
+            all.addLong(productId);
+        }
+
+        private void remove(Long productId) {
+            IndexedProduct product = products.remove(productId);
+            if (product == null) return;
+
+            product.trigrams().forEach(trigram -> removeFrom(postings, trigram, productId));
+            product.categoryIds().forEach(categoryId -> removeFrom(categories, categoryId, productId));
+            all.removeLong(productId);
+        }
+
+        private <K> void removeFrom(Map<K, Roaring64Bitmap> bitmaps, K key, long id) {
+            Roaring64Bitmap bitmap = bitmaps.get(key);
+            if (bitmap == null) return;
+
+            bitmap.removeLong(id);
+            if (bitmap.isEmpty()) bitmaps.remove(key);
+        }
+
+        private void optimize() {
+            postings.values().forEach(Roaring64Bitmap::runOptimize);
+            categories.values().forEach(Roaring64Bitmap::runOptimize);
+            all.runOptimize();
+        }
+    }
+}
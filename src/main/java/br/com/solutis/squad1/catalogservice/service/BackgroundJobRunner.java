@@ -0,0 +1,92 @@
+package br.com.solutis.squad1.catalogservice.service;
+
+import br.com.solutis.squad1.catalogservice.exception.ServiceUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the jobs of a background product operation and keeps them in memory so their progress can be polled.
+ *
+ * The jobs run on a fixed pool of daemon threads named {@code product-<name>-<n>}, monitored as the
+ * {@code products.<name>} executor. A job that cannot be queued, because the queue is full or the runner was shut
+ * down, is rejected instead of running on the caller thread, so the endpoints starting jobs always answer right away.
+ *
+ * @param <J> job type
+ */
+class BackgroundJobRunner<J> {
+    private static final int MAX_JOBS = 1000;
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final Cache<UUID, J> jobs;
+
+    BackgroundJobRunner(String name, MeterRegistry meterRegistry, int workers, int queueCapacity, Duration retention) {
+        this.name = name;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .maximumSize(MAX_JOBS)
+                .build();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                workers, workers,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "product-" + name + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "products." + name);
+    }
+
+    /**
+     * Keep the job and run its task in the background
+     *
+     * @param id
+     * @param job
+     * @param task
+     * @param onRejected cleanup run when the task cannot be queued
+     * @throws ServiceUnavailableException when the task cannot be queued
+     */
+    void submit(UUID id, J job, Runnable task, Runnable onRejected) {
+        jobs.put(id, job);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            onRejected.run();
+            throw new ServiceUnavailableException("Too many product " + name + " jobs in progress, try again later");
+        }
+    }
+
+    /**
+     * Find job by id, while it is retained
+     *
+     * @param id
+     * @return Optional<J>
+     */
+    Optional<J> findById(UUID id) {
+        return Optional.ofNullable(jobs.getIfPresent(id));
+    }
+
+    /**
+     * Stop the workers, interrupting the running jobs
+     */
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,11 +1,16 @@
 package br.com.solutis.squad1.catalogservice.service;
 
+import br.com.solutis.squad1.catalogservice.cache.CategoryRegistry;
+import br.com.solutis.squad1.catalogservice.cache.ProductDetailCache;
 import br.com.solutis.squad1.catalogservice.dto.category.CategoryDto;
 import br.com.solutis.squad1.catalogservice.dto.category.CategoryResponseDto;
 import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
 import br.com.solutis.squad1.catalogservice.mapper.CategoryMapper;
 import br.com.solutis.squad1.catalogservice.model.entity.Category;
 import br.com.solutis.squad1.catalogservice.model.repository.CategoryRepository;
+import br.com.solutis.squad1.catalogservice.model.repository.ProductRepository;
+import br.com.solutis.squad1.catalogservice.outbox.Outbox;
+import br.com.solutis.squad1.catalogservice.outbox.OutboxEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +18,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Service class for managing categories.
  */
@@ -23,6 +30,10 @@ import org.springframework.stereotype.Service;
 public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper mapper;
+    private final ProductRepository productRepository;
+    private final ProductDetailCache productDetailCache;
+    private final CategoryRegistry categoryRegistry;
+    private final Outbox outbox;
 
     /**
      * Find all categories
@@ -60,7 +71,10 @@ public class CategoryService {
         log.info("Saving category {}", categoryDto);
         Category category = mapper.dtoToEntity(categoryDto);
         category = categoryRepository.save(category);
+        if (category != null) outbox.append(OutboxEvent.Aggregate.CATEGORY, category.getId(), OutboxEvent.Type.CREATED);
 
+        Category savedCategory = category;
+        TransactionHooks.afterCommit(() -> categoryRegistry.put(savedCategory));
         return mapper.toResponseDto(category);
     }
 
@@ -75,6 +89,10 @@ public class CategoryService {
         log.info("Updating category with id {}", id);
         Category category = categoryRepository.getReferenceById(id);
         category.update(mapper.dtoToEntity(categoryDto));
+        outbox.append(OutboxEvent.Aggregate.CATEGORY, id, OutboxEvent.Type.UPDATED);
+
+        TransactionHooks.afterCommit(() -> categoryRegistry.put(category));
+        invalidateProductsOfCategory(id);
         return mapper.toResponseDto(category);
     }
 
@@ -87,5 +105,14 @@ public class CategoryService {
         log.info("Deleting category with id {}", id);
         Category category = categoryRepository.getReferenceById(id);
         category.delete();
+        outbox.append(OutboxEvent.Aggregate.CATEGORY, id, OutboxEvent.Type.DELETED);
+
+        TransactionHooks.afterCommit(() -> categoryRegistry.remove(id));
+        invalidateProductsOfCategory(id);
+    }
+
+    private void invalidateProductsOfCategory(Long id) {
+        List<Long> productIds = productRepository.findProductIdsByCategoryId(id);
+        TransactionHooks.afterCommit(() -> productDetailCache.invalidateAll(productIds));
     }
 }
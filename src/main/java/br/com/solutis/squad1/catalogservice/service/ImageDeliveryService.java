@@ -0,0 +1,283 @@
+package br.com.solutis.squad1.catalogservice.service;
+
+import br.com.solutis.squad1.catalogservice.cache.ImageBytesCache;
+import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
+import br.com.solutis.squad1.catalogservice.model.entity.ImageVariant;
+import br.com.solutis.squad1.catalogservice.storage.BlobStore;
+import br.com.solutis.squad1.catalogservice.storage.ImageStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Service class that serves the stored image files over HTTP.
+ *
+ * Responses carry a strong ETag and Last-Modified derived from the stored file, so conditional requests
+ * ({@code If-None-Match}, {@code If-Modified-Since}) are answered with 304. A single byte range ({@code Range}, honouring
+ * {@code If-Range}) is answered with 206; multiple ranges fall back to the whole file.
+ *
+ * The file is written without copying it through the JVM heap: on Tomcat the connector sends it with sendfile,
+ * otherwise it is streamed with {@link FileChannel#transferTo}. Files named by {@code ImageService} (product id and
+ * upload timestamp, or content hash) never change, so they are served with a one year immutable {@code Cache-Control}.
+ *
+ * A resized variant is served when requested and already generated; until then the original is served with
+ * {@code no-cache}, so clients pick the variant up once the {@link ImageVariantPipeline} produced it.
+ *
+ * The most requested files are served from the {@link ImageBytesCache}, without touching the store.
+ *
+ * Files of a {@link BlobStore} without local paths (object stores) are streamed from it; with
+ * {@code upload.delivery.redirect=true} clients are redirected to a presigned URL instead, so the image bytes do not go
+ * through the service at all.
+ */
+@Service
+@Slf4j
+public class ImageDeliveryService {
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    // Nomes gerados no upload: <id do produto>-<yyyy-MM-dd-HH-mm-ss>.<extensão>
+    private static final Pattern IMMUTABLE_FILENAME = Pattern.compile("\\d+-\\d{4}(-\\d{2}){5}\\.\\w+");
+    private static final CacheControl IMMUTABLE_CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePublic()
+            .immutable();
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ImageStorage imageStorage;
+    private final BlobStore blobStore;
+    private final ImageBytesCache imageBytesCache;
+    private final boolean redirect;
+    private final Duration presignedUrlTtl;
+
+    public ImageDeliveryService(
+            ImageStorage imageStorage,
+            BlobStore blobStore,
+            ImageBytesCache imageBytesCache,
+            @Value("${upload.delivery.redirect:false}") boolean redirect,
+            @Value("${upload.delivery.presigned-url-ttl:10m}") Duration presignedUrlTtl
+    ) {
+        this.imageStorage = imageStorage;
+        this.blobStore = blobStore;
+        this.imageBytesCache = imageBytesCache;
+        this.redirect = redirect;
+        this.presignedUrlTtl = presignedUrlTtl;
+    }
+
+    /**
+     * Write the image to the response
+     *
+     * @param name
+     * @param request
+     * @param response
+     */
+    public void serve(String name, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(name, null, request, response);
+    }
+
+    /**
+     * Write a resized variant of the image to the response, or the original when the variant is null or not generated
+     *
+     * @param name
+     * @param variant
+     * @param request
+     * @param response
+     */
+    public void serve(
+            String name,
+            ImageVariant variant,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        String key = imageStorage.key(name);
+        boolean immutable = isImmutable(name);
+        Optional<BlobStore.BlobInfo> blob = Optional.empty();
+        if (variant != null) {
+            String variantKey = imageStorage.variantKey(name, variant);
+            blob = stat(variantKey);
+            if (blob.isPresent()) {
+                key = variantKey;
+            } else {
+                immutable = false;
+            }
+        }
+
+        if (redirect && sendRedirect(key, response)) return;
+
+        if (blob.isEmpty()) blob = stat(key);
+        BlobStore.BlobInfo info = blob.orElseThrow(() -> {
+            log.error("File not found: {}", name);
+            return new EntityNotFoundException("Image not found");
+        });
+        long size = info.size();
+        long lastModified = info.lastModified();
+        String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(
+                HttpHeaders.CACHE_CONTROL,
+                (immutable ? IMMUTABLE_CACHE_CONTROL : CacheControl.noCache()).getHeaderValue()
+        );
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // Define ETag e Last-Modified e responde 304 quando o cliente já tem a versão atual
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) return;
+
+        response.setContentType(MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        long start = 0;
+        long end = size - 1;
+        HttpRange range = getRange(request, etag, lastModified);
+        if (range != null) {
+            if (size == 0 || range.getRangeStart(size) >= size) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+
+            start = range.getRangeStart(size);
+            end = range.getRangeEnd(size);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) return;
+
+        write(key, info, start, length, request, response);
+    }
+
+    private Optional<BlobStore.BlobInfo> stat(String key) {
+        return imageBytesCache.info(key).or(() -> blobStore.stat(key));
+    }
+
+    private boolean sendRedirect(String key, HttpServletResponse response) throws IOException {
+        Optional<URI> url = blobStore.presignedUrl(key, presignedUrlTtl);
+        if (url.isEmpty()) return false;
+
+        // O cliente baixa direto do object store, os bytes da imagem não passam pela JVM
+        response.setHeader(
+                HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(presignedUrlTtl.dividedBy(2)).cachePrivate().getHeaderValue()
+        );
+        response.sendRedirect(url.get().toString());
+        return true;
+    }
+
+    private boolean isImmutable(String name) {
+        return IMMUTABLE_FILENAME.matcher(name).matches() || ImageStorage.isContentAddressed(name);
+    }
+
+    private HttpRange getRange(HttpServletRequest request, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) return null;
+
+        // If-Range: o intervalo só vale se o arquivo não mudou, senão o arquivo inteiro é enviado
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            // Um ETag diferente não é data: getDateHeader lançaria exceção em vez de enviar o arquivo inteiro
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) return null;
+            try {
+                long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+                if (ifRangeDate == -1 || lastModified / 1000 > ifRangeDate / 1000) return null;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void write(
+            String key,
+            BlobStore.BlobInfo info,
+            long start,
+            long length,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Optional<ByteBuffer> cached = imageBytesCache.get(key, info);
+        if (cached.isPresent()) {
+            ByteBuffer content = cached.get();
+            content.position((int) start).limit((int) (start + length));
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            while (content.hasRemaining()) {
+                out.write(content);
+            }
+            return;
+        }
+
+        Optional<Path> path = blobStore.localPath(key);
+        if (path.isEmpty()) {
+            stream(key, start, length, response);
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            // O conector do Tomcat envia o arquivo com sendfile depois que o método retorna
+            request.setAttribute(SENDFILE_FILENAME_ATTR, path.get().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, start + length);
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(path.get(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = file.transferTo(position, remaining, out);
+                if (transferred <= 0) break;
+
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    private void stream(String key, long start, long length, HttpServletResponse response) throws IOException {
+        try (InputStream in = blobStore.open(key, start, length)) {
+            OutputStream out = response.getOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long remaining = length;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) break;
+
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+}
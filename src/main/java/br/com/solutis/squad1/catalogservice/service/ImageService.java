@@ -1,30 +1,29 @@
 package br.com.solutis.squad1.catalogservice.service;
 
+import br.com.solutis.squad1.catalogservice.cache.ImageBytesCache;
 import br.com.solutis.squad1.catalogservice.dto.image.ImageResponseDto;
-import br.com.solutis.squad1.catalogservice.exception.BadRequestException;
 import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
 import br.com.solutis.squad1.catalogservice.mapper.ImageMapper;
 import br.com.solutis.squad1.catalogservice.model.entity.Image;
 import br.com.solutis.squad1.catalogservice.model.repository.ImageRepository;
+import br.com.solutis.squad1.catalogservice.storage.ImageStorage;
+import br.com.solutis.squad1.catalogservice.storage.ImageType;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -36,6 +35,7 @@ import java.util.Optional;
  *
  * This service interacts with the {@link ImageRepository} for database access,
  * {@link ProductService} for handling product-related operations, and {@link ImageMapper} for mapping between DTOs and entities.
+ * The resized variants of saved images are generated in the background by the {@link ImageVariantPipeline}.
  *
  * @Service Indicates that this class is a Spring service bean.
  * @Transactional Specifies that the methods of this service are transactional.
@@ -50,20 +50,19 @@ public class ImageService {
     private final ImageRepository imageRepository;
     private final ProductService productService;
     private final ImageMapper mapper;
-
-    @Value("${upload.dir}")
-    private String uploadDir;
+    private final ImageStorage imageStorage;
+    private final ImageVariantPipeline imageVariantPipeline;
+    private final ImageBytesCache imageBytesCache;
+    private final PlatformTransactionManager transactionManager;
 
     @Value("${upload.url}")
     private String uploadUrl;
 
-    private static String generateNewFilename(Long productId, MultipartFile file) {
+    private static String generateNewFilename(Long productId, ImageType type) {
         log.info("Generating new file name for product {}", productId);
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss");
         String formattedDate = LocalDateTime.now().format(formatter);
-        return productId + "-" + formattedDate + Objects.requireNonNull(
-                file.getOriginalFilename()).substring(file.getOriginalFilename().lastIndexOf('.')
-        );
+        return productId + "-" + formattedDate + type.getExtension();
     }
 
     /**
@@ -87,23 +86,53 @@ public class ImageService {
      * @return ImageResponseDto
      */
     public ImageResponseDto save(Long productId, MultipartFile file) {
-        log.info("Saving product image with {}", productId);
-        // Se tiver, deleta a imagem antiga do produto
-        Optional<Image> image = imageRepository.findByProductIdAndDeletedIsFalse(productId);
-        if (image.isPresent()) {
-            log.info("Deleting old product image");
-            delete(productId);
-            log.info("Old product image deleted");
+        log.info("Staging product image for product {}", productId);
+        ImageStorage.StagedFile stagedFile;
+        try (InputStream content = file.getInputStream()) {
+            stagedFile = imageStorage.stage(content);
+        } catch (IOException e) {
+            log.error("An error occurred while storing the file", e);
+            throw new RuntimeException("An error occurred while storing the file", e);
         }
 
-        log.info("Uploading product image");
-        ImageResponseDto productImage = upload(productId, file);
-        log.info("Product image uploaded");
+        return save(productId, file.getOriginalFilename(), stagedFile);
+    }
 
-        log.info("Product image saved");
-        Image savedImage = imageRepository.save(mapper.responseDtoToEntity(productImage));
-        productService.saveImage(productId, savedImage);
-        return mapper.toResponseDto(savedImage);
+    /**
+     * Save an image already staged by the {@link ImageStorage}
+     *
+     * The staged file is moved to its final name, or discarded when saving fails.
+     *
+     * @param productId
+     * @param originalName
+     * @param stagedFile
+     * @return ImageResponseDto
+     */
+    public ImageResponseDto save(Long productId, String originalName, ImageStorage.StagedFile stagedFile) {
+        log.info("Saving product image with {}", productId);
+        try {
+            // Se tiver, deleta a imagem antiga do produto
+            Optional<Image> image = imageRepository.findByProductIdAndDeletedIsFalse(productId);
+            if (image.isPresent()) {
+                log.info("Deleting old product image");
+                // Com o mesmo conteúdo o arquivo antigo é o novo e não pode ser removido após o commit
+                delete(productId, stagedFile.contentHash());
+                log.info("Old product image deleted");
+            }
+
+            log.info("Uploading product image");
+            Image productImage = publish(productId, originalName, stagedFile);
+            log.info("Product image uploaded");
+
+            log.info("Product image saved");
+            Image savedImage = imageRepository.save(productImage);
+            productService.saveImage(productId, savedImage);
+            imageVariantPipeline.submit(productId, savedImage.getId(), savedImage.getArchiveName());
+            return mapper.toResponseDto(savedImage);
+        } catch (RuntimeException e) {
+            imageStorage.discard(stagedFile);
+            throw e;
+        }
     }
 
     /**
@@ -113,6 +142,10 @@ public class ImageService {
      * @return void
      */
     public void delete(Long productId) {
+        delete(productId, null);
+    }
+
+    private void delete(Long productId, String keptContentHash) {
         log.info("Deleting product image with id {}", productId);
         ImageResponseDto imageResponseDto = findByProductId(productId);
         Image image = imageRepository.getReferenceById(imageResponseDto.id());
@@ -122,7 +155,7 @@ public class ImageService {
         productService.deleteImage(productId);
 
         log.info("Deleting product image from directory");
-        deleteFile(imageResponseDto.archiveName());
+        deleteFile(image, keptContentHash);
     }
 
     /**
@@ -132,72 +165,83 @@ public class ImageService {
      * @return Resource
      */
     public Resource load(String name) {
-        try {
-            log.info("Loading file {}", name);
-            Path filePath = Paths.get(uploadDir).resolve(name);
-            Resource resource = new UrlResource(filePath.toUri());
-            if (resource.exists() || resource.isReadable()) {
-                return resource;
-            }
-
-            log.error("File not found: " + name);
-            throw new FileNotFoundException("File not found: " + name);
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e.getMessage());
-        } catch (MalformedURLException e) {
-            log.error("An error occurred while loading the file", e);
-            throw new RuntimeException("An error occurred while loading the file", e);
-        }
+        log.info("Loading file {}", name);
+        return new InputStreamResource(imageStorage.open(name));
     }
 
-    private ImageResponseDto upload(Long productId, MultipartFile file) {
-        log.info("Uploading file with id {}", productId);
-        // Valida se o arquivo é uma imagem
-        if (!Objects.requireNonNull(file.getContentType()).startsWith("image/")) {
-            throw new BadRequestException("File must be an image");
+    private Image publish(Long productId, String originalName, ImageStorage.StagedFile stagedFile) {
+        log.info("Publishing file for product {}", productId);
+        if (!imageStorage.isContentAddressed()) {
+            String archiveName = imageStorage.publish(stagedFile, generateNewFilename(productId, stagedFile.type()));
+            return getProductImageFromFile(originalName, archiveName, stagedFile);
         }
 
-        log.info("Uploading product image from product");
-        // Upload da imagem
-        String newFileName = generateNewFilename(productId, file);
-        store(file, newFileName);
+        // Bloqueia o hash até o fim da transação para não concorrer com a remoção do mesmo arquivo
+        imageRepository.lockContentHash(stagedFile.contentHash());
+        String archiveName = imageStorage.publish(stagedFile);
 
-        log.info("Saving product image from directory");
-        // Coloca os dados da imagem que foi feito o upload no objeto para retornar
-        Image image = getProductImageFromFile(file, newFileName);
-        return mapper.toResponseDto(image);
+        Image image = getProductImageFromFile(originalName, archiveName, stagedFile);
+        image.setContentHash(stagedFile.contentHash());
+        return image;
     }
 
-    private Image getProductImageFromFile(MultipartFile file, String newFileName) {
+    private Image getProductImageFromFile(String originalName, String archiveName, ImageStorage.StagedFile stagedFile) {
         log.info("Getting product image from file");
         Image image = new Image();
-        image.setOriginalName(file.getOriginalFilename());
-        image.setArchiveName(newFileName);
-        image.setContentType(file.getContentType());
-        image.setSize(file.getSize());
-        image.setUrl(uploadUrl + newFileName);
+        image.setOriginalName(getOriginalName(originalName, archiveName));
+        image.setArchiveName(archiveName);
+        // O tipo vem dos bytes do arquivo, não do Content-Type informado pelo cliente
+        image.setContentType(stagedFile.type().getContentType());
+        image.setSize(stagedFile.size());
+        image.setUrl(uploadUrl + archiveName);
         return image;
     }
 
-    private void store(MultipartFile file, String fileName) {
-        try {
-            log.info("Storing file {}", fileName);
-            Path targetPath = Paths.get(uploadDir).resolve(fileName);
-            Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            log.error("An error occurred while storing the file", e);
-            throw new RuntimeException("An error occurred while storing the file", e);
-        }
+    private static String getOriginalName(String originalName, String archiveName) {
+        if (originalName == null || originalName.isBlank()) return archiveName;
+
+        // Alguns navegadores enviam o caminho completo do arquivo
+        return originalName.substring(Math.max(originalName.lastIndexOf('/'), originalName.lastIndexOf('\\')) + 1);
     }
 
-    private void deleteFile(String fileName) {
-        try {
-            log.info("Deleting file {}", fileName);
-            Path filePath = Paths.get(uploadDir).resolve(fileName);
-            Files.deleteIfExists(filePath);
-        } catch (IOException e) {
-            log.error("An error occurred while storing the file", e);
-            throw new RuntimeException("An error occurred while deleting the file", e);
+    private void deleteFile(Image image, String keptContentHash) {
+        String contentHash = image.getContentHash();
+        if (contentHash != null) {
+            if (contentHash.equals(keptContentHash)) return;
+
+            // O arquivo é compartilhado: só é removido quando a última imagem que o referencia é removida
+            imageRepository.lockContentHash(contentHash);
+            if (imageRepository.countByContentHashAndDeletedIsFalse(contentHash) > 0) {
+                log.info("File {} still referenced, keeping it", image.getArchiveName());
+                return;
+            }
         }
+
+        // O arquivo só sai do storage depois do commit: um rollback deixaria a imagem apontando para nada
+        String archiveName = image.getArchiveName();
+        TransactionHooks.afterCommit(() -> {
+            if (contentHash == null) {
+                deleteStoredFile(archiveName);
+                return;
+            }
+
+            // O bloqueio foi liberado no commit: um upload do mesmo conteúdo pode ter reaproveitado o arquivo
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transactionTemplate.executeWithoutResult(status -> {
+                imageRepository.lockContentHash(contentHash);
+                if (imageRepository.countByContentHashAndDeletedIsFalse(contentHash) > 0) {
+                    log.info("File {} reused by a new image, keeping it", archiveName);
+                    return;
+                }
+
+                deleteStoredFile(archiveName);
+            });
+        });
+    }
+
+    private void deleteStoredFile(String archiveName) {
+        imageStorage.delete(archiveName);
+        imageBytesCache.invalidate(archiveName);
     }
 }
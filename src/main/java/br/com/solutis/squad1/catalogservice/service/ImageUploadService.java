@@ -0,0 +1,71 @@
+package br.com.solutis.squad1.catalogservice.service;
+
+import br.com.solutis.squad1.catalogservice.dto.image.ImageResponseDto;
+import br.com.solutis.squad1.catalogservice.exception.BadRequestException;
+import br.com.solutis.squad1.catalogservice.storage.ImageStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tomcat.util.http.fileupload.FileItemIterator;
+import org.apache.tomcat.util.http.fileupload.FileItemStream;
+import org.apache.tomcat.util.http.fileupload.FileUpload;
+import org.apache.tomcat.util.http.fileupload.FileUploadException;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletRequestContext;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service class that receives image uploads by streaming the multipart request.
+ *
+ * The multipart body is parsed once, as it arrives, with the parser bundled with Tomcat: the {@code file} part is
+ * written by {@link ImageStorage#stage} straight to the upload directory, detecting its type and computing its size and
+ * checksum in the same pass, instead of being buffered by the servlet container and copied again. This requires
+ * {@code spring.servlet.multipart.resolve-lazily=true}, so the request body is still unread when it gets here.
+ *
+ * The upload runs outside of any transaction, so no database connection is held while the client sends the file;
+ * only the registration of the staged file by {@link ImageService} is transactional.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageUploadService {
+    private static final String FILE_FIELD = "file";
+
+    private final ImageStorage imageStorage;
+    private final ImageService imageService;
+
+    /**
+     * Stream the {@code file} part of the multipart request to the storage and save it as the product image
+     *
+     * @param productId
+     * @param request
+     * @return ImageResponseDto
+     */
+    public ImageResponseDto upload(Long productId, HttpServletRequest request) {
+        log.info("Streaming product image for product {}", productId);
+        try {
+            FileItemIterator items = new FileUpload().getItemIterator(new ServletRequestContext(request));
+            while (items.hasNext()) {
+                FileItemStream item = items.next();
+                if (item.isFormField() || !FILE_FIELD.equals(item.getFieldName())) continue;
+
+                ImageStorage.StagedFile stagedFile;
+                try (InputStream content = item.openStream()) {
+                    stagedFile = imageStorage.stage(content);
+                }
+
+                return imageService.save(productId, item.getName(), stagedFile);
+            }
+        } catch (FileUploadException e) {
+            log.error("Invalid multipart request", e);
+            throw new BadRequestException("Invalid multipart request: " + e.getMessage());
+        } catch (IOException e) {
+            log.error("An error occurred while receiving the file", e);
+            throw new RuntimeException("An error occurred while receiving the file", e);
+        }
+
+        throw new BadRequestException("File is required");
+    }
+}
@@ -0,0 +1,184 @@
+package br.com.solutis.squad1.catalogservice.service;
+
+import br.com.solutis.squad1.catalogservice.cache.ProductDetailCache;
+import br.com.solutis.squad1.catalogservice.model.converter.ImageVariantsConverter;
+import br.com.solutis.squad1.catalogservice.model.entity.ImageVariant;
+import br.com.solutis.squad1.catalogservice.model.repository.ImageRepository;
+import br.com.solutis.squad1.catalogservice.storage.ImageResizer;
+import br.com.solutis.squad1.catalogservice.storage.ImageStorage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service class that generates the resized variants of the uploaded images in the background.
+ *
+ * {@link #submit} schedules the generation after the upload transaction commits, on a fixed pool of
+ * {@code catalog.images.variants.workers} threads with a queue bounded by {@code catalog.images.variants.queue-capacity}.
+ * When the queue is full the uploading thread generates the variants itself, which slows uploads down instead of
+ * piling up decoded images in memory. Failed generations are retried up to {@code catalog.images.variants.max-attempts}
+ * times with an exponential backoff; images still without variants keep being served in their original size.
+ *
+ * Variants already on disk (content-addressed files shared by several images) are recorded without being generated
+ * again. The generated variants are recorded against the image and the product detail cache entry is invalidated.
+ */
+@Service
+@Slf4j
+public class ImageVariantPipeline {
+    private static final List<ImageVariant> LARGEST_FIRST = EnumSet.allOf(ImageVariant.class).stream()
+            .sorted(Comparator.comparingInt(ImageVariant::getMaxDimension).reversed())
+            .toList();
+    private static final int LARGEST_DIMENSION = LARGEST_FIRST.get(0).getMaxDimension();
+
+    private final ImageStorage imageStorage;
+    private final ImageRepository imageRepository;
+    private final ProductDetailCache productDetailCache;
+    private final ImageVariantsConverter variantsConverter = new ImageVariantsConverter();
+    private final ThreadPoolExecutor executor;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public ImageVariantPipeline(
+            ImageStorage imageStorage,
+            ImageRepository imageRepository,
+            ProductDetailCache productDetailCache,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.images.variants.workers:2}") int workers,
+            @Value("${catalog.images.variants.queue-capacity:100}") int queueCapacity,
+            @Value("${catalog.images.variants.max-attempts:3}") int maxAttempts,
+            @Value("${catalog.images.variants.retry-backoff:1s}") Duration retryBackoff
+    ) {
+        this.imageStorage = imageStorage;
+        this.imageRepository = imageRepository;
+        this.productDetailCache = productDetailCache;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = retryBackoff;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                workers, workers,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "image.variants");
+    }
+
+    /**
+     * Generate the variants of the image once the current transaction commits
+     *
+     * @param productId
+     * @param imageId
+     * @param archiveName
+     */
+    public void submit(Long productId, Long imageId, String archiveName) {
+        TransactionHooks.afterCommit(() -> executor.execute(() -> process(productId, imageId, archiveName)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void process(Long productId, Long imageId, String archiveName) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                Set<ImageVariant> variants = generate(archiveName);
+                if (variants.isEmpty()) return;
+
+                imageRepository.updateVariants(imageId, variantsConverter.convertToDatabaseColumn(variants));
+                productDetailCache.invalidate(productId);
+                log.info("Variants {} generated for image {}", variants, archiveName);
+                return;
+            } catch (Exception e) {
+                if (attempt == maxAttempts) {
+                    log.error("Could not generate the variants of image {}", archiveName, e);
+                    return;
+                }
+
+                log.warn("Attempt {} to generate the variants of image {} failed, retrying", attempt, archiveName, e);
+                if (!sleep(retryBackoff.multipliedBy(1L << (attempt - 1)))) return;
+            }
+        }
+    }
+
+    Set<ImageVariant> generate(String archiveName) throws Exception {
+        Set<ImageVariant> variants = EnumSet.noneOf(ImageVariant.class);
+        String format = ImageResizer.formatOf(archiveName);
+        if (format == null) {
+            log.info("Image {} has no writable format, skipping variants", archiveName);
+            return variants;
+        }
+
+        if (LARGEST_FIRST.stream().allMatch(variant -> imageStorage.variantExists(archiveName, variant))) {
+            return EnumSet.allOf(ImageVariant.class);
+        }
+
+        BufferedImage image;
+        try (InputStream source = imageStorage.open(archiveName)) {
+            image = ImageResizer.read(source, LARGEST_DIMENSION);
+        }
+
+        if (image == null) {
+            log.info("Image {} has no readable format, skipping variants", archiveName);
+            return variants;
+        }
+
+        // Cada variante é gerada a partir da anterior, maior, em vez de redimensionar o original várias vezes
+        boolean opaque = !"png".equals(format) && !"gif".equals(format);
+        for (ImageVariant variant : LARGEST_FIRST) {
+            image = ImageResizer.resize(image, variant.getMaxDimension(), opaque);
+            if (!imageStorage.variantExists(archiveName, variant)) {
+                publish(archiveName, variant, image, format);
+            }
+
+            variants.add(variant);
+        }
+
+        return variants;
+    }
+
+    private void publish(String archiveName, ImageVariant variant, BufferedImage image, String format) throws IOException {
+        Path file = imageStorage.createTempFile("." + format);
+        try {
+            ImageResizer.write(image, format, file);
+            imageStorage.publishVariant(archiveName, variant, file, "image/" + format);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
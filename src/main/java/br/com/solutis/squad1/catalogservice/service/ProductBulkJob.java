@@ -0,0 +1,106 @@
+package br.com.solutis.squad1.catalogservice.service;
+
+import br.com.solutis.squad1.catalogservice.dto.product.ProductBulkJobDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a bulk soft-delete or restore, updated by the bulk worker and read by the clients polling it.
+ *
+ * The job targets either all the products of a seller or a set of ids.
+ */
+class ProductBulkJob {
+    private final UUID id = UUID.randomUUID();
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final ProductBulkJobDto.Operation operation;
+    private final Long sellerId;
+    private final List<Long> ids;
+    private final AtomicLong processedProducts = new AtomicLong();
+    private final AtomicLong affectedProducts = new AtomicLong();
+
+    private volatile ProductBulkJobDto.Status status = ProductBulkJobDto.Status.QUEUED;
+    private volatile String message;
+    private volatile LocalDateTime finishedAt;
+
+    ProductBulkJob(ProductBulkJobDto.Operation operation, Long sellerId, List<Long> ids) {
+        this.operation = operation;
+        this.sellerId = sellerId;
+        this.ids = ids;
+    }
+
+    UUID getId() {
+        return id;
+    }
+
+    ProductBulkJobDto.Operation getOperation() {
+        return operation;
+    }
+
+    Long getSellerId() {
+        return sellerId;
+    }
+
+    List<Long> getIds() {
+        return ids;
+    }
+
+    /**
+     * Mark the job as running
+     */
+    void start() {
+        status = ProductBulkJobDto.Status.RUNNING;
+    }
+
+    /**
+     * Count products processed and changed
+     *
+     * @param processed
+     * @param affected
+     */
+    void processed(int processed, int affected) {
+        processedProducts.addAndGet(processed);
+        affectedProducts.addAndGet(affected);
+    }
+
+    /**
+     * Mark the job as completed, all products were processed
+     */
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        status = ProductBulkJobDto.Status.COMPLETED;
+    }
+
+    /**
+     * Mark the job as failed, the chunks already processed are kept
+     *
+     * @param error
+     */
+    void fail(String error) {
+        message = error;
+        finishedAt = LocalDateTime.now();
+        status = ProductBulkJobDto.Status.FAILED;
+    }
+
+    /**
+     * Snapshot of the job progress
+     *
+     * @return ProductBulkJobDto
+     */
+    ProductBulkJobDto toDto() {
+        return new ProductBulkJobDto(
+                id,
+                operation,
+                status,
+                sellerId,
+                ids != null ? (long) ids.size() : null,
+                processedProducts.get(),
+                affectedProducts.get(),
+                message,
+                createdAt,
+                finishedAt
+        );
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.solutis.squad1.catalogservice.service;
+
+import br.com.solutis.squad1.catalogservice.dto.product.ProductBulkJobDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductBulkRequestDto;
+import br.com.solutis.squad1.catalogservice.exception.BadRequestException;
+import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Service class that soft-deletes and restores products in bulk, e.g. when a seller is deactivated.
+ *
+ * A request targets either all the products of a seller, changed by a single statement, or up to
+ * {@code catalog.products.bulk.max-ids} ids, changed by one statement per {@code catalog.products.bulk.chunk-size} ids
+ * in its own transaction, so a failure keeps the chunks already applied and the processed count shows how far it got.
+ * {@link ProductService} refreshes the caches and the search index once per statement.
+ *
+ * The operations run on {@code catalog.products.bulk.workers} bulk threads; a request arriving while
+ * {@code catalog.products.bulk.queue-capacity} operations are waiting gets 503. Finished jobs stay available to
+ * {@link #findById} for {@code catalog.products.bulk.retention}.
+ */
+@Service
+@Slf4j
+public class ProductBulkService {
+    private final ProductService productService;
+    private final BackgroundJobRunner<ProductBulkJob> jobs;
+    private final int chunkSize;
+    private final int maxIds;
+
+    public ProductBulkService(
+            ProductService productService,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.products.bulk.workers:1}") int workers,
+            @Value("${catalog.products.bulk.queue-capacity:10}") int queueCapacity,
+            @Value("${catalog.products.bulk.chunk-size:1000}") int chunkSize,
+            @Value("${catalog.products.bulk.max-ids:100000}") int maxIds,
+            @Value("${catalog.products.bulk.retention:1h}") Duration retention
+    ) {
+        this.productService = productService;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxIds = maxIds;
+        this.jobs = new BackgroundJobRunner<>("bulk", meterRegistry, workers, queueCapacity, retention);
+    }
+
+    /**
+     * Validate the request and start the bulk operation in the background
+     *
+     * @param operation
+     * @param productBulkRequestDto
+     * @return ProductBulkJobDto
+     */
+    public ProductBulkJobDto start(ProductBulkJobDto.Operation operation, ProductBulkRequestDto productBulkRequestDto) {
+        Long sellerId = productBulkRequestDto.sellerId();
+        List<Long> ids = productBulkRequestDto.ids();
+        if ((sellerId == null) == (ids == null)) {
+            throw new BadRequestException("Either sellerId or ids must be informed");
+        }
+
+        if (ids != null) {
+            ids = ids.stream().filter(Objects::nonNull).distinct().toList();
+            if (ids.isEmpty()) throw new BadRequestException("ids must not be empty");
+            if (ids.size() > maxIds) throw new BadRequestException("ids must have at most " + maxIds + " products");
+        }
+
+        ProductBulkJob job = new ProductBulkJob(operation, sellerId, ids);
+        log.info("Product bulk {} {} received", operation, job.getId());
+        jobs.submit(job.getId(), job, () -> run(job), () -> {
+            log.warn("Product bulk {} {} rejected, the bulk queue is full or shut down", operation, job.getId());
+            job.fail("Bulk operation rejected, the bulk queue is full");
+        });
+        return job.toDto();
+    }
+
+    /**
+     * Find bulk job by id
+     *
+     * @param id
+     * @return ProductBulkJobDto
+     */
+    public ProductBulkJobDto findById(UUID id) {
+        return jobs.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Bulk job not found"))
+                .toDto();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.shutdown();
+    }
+
+    void run(ProductBulkJob job) {
+        job.start();
+        boolean delete = job.getOperation() == ProductBulkJobDto.Operation.DELETE;
+        try {
+            if (job.getSellerId() != null) {
+                int affected = delete
+                        ? productService.deleteAllBySellerId(job.getSellerId())
+                        : productService.restoreAllBySellerId(job.getSellerId());
+                job.processed(affected, affected);
+            } else {
+                List<Long> ids = job.getIds();
+                for (int from = 0; from < ids.size(); from += chunkSize) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                    int affected = delete ? productService.deleteAllById(chunk) : productService.restoreAllById(chunk);
+                    job.processed(chunk.size(), affected);
+                }
+            }
+
+            job.complete();
+            log.info("Product bulk {} {} completed", job.getOperation(), job.getId());
+        } catch (Exception e) {
+            log.error("Product bulk {} {} failed", job.getOperation(), job.getId(), e);
+            job.fail(e.getMessage());
+        }
+    }
+}
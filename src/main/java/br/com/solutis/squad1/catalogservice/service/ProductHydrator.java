@@ -0,0 +1,57 @@
+package br.com.solutis.squad1.catalogservice.service;
+
+import br.com.solutis.squad1.catalogservice.model.entity.Product;
+import br.com.solutis.squad1.catalogservice.model.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads products together with their categories and image in a single statement.
+ *
+ * List endpoints use it so the number of queries does not depend on the page size: the page query selects the
+ * products and one fetch join initializes the categories and image of all of them.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductHydrator {
+    private final ProductRepository productRepository;
+
+    /**
+     * Initialize the categories and image of already loaded products
+     *
+     * @param products
+     */
+    public void hydrate(Collection<Product> products) {
+        if (products.isEmpty()) return;
+
+        // As entidades são as mesmas do contexto de persistência, então as coleções são inicializadas nelas
+        productRepository.findAllWithCategoriesAndImageByIdIn(
+                products.stream().map(Product::getId).collect(Collectors.toSet())
+        );
+    }
+
+    /**
+     * Find products by ids with categories and image, in the order of the ids
+     *
+     * @param ids
+     * @return List<Product>
+     */
+    public List<Product> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, Product> productsById = productRepository.findAllWithCategoriesAndImageByIdIn(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity(), (first, second) -> first));
+
+        return ids.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,232 @@
+package br.com.solutis.squad1.catalogservice.service;
+
+import br.com.solutis.squad1.catalogservice.cache.CategoryRegistry;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductImportJobDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductPostDto;
+import br.com.solutis.squad1.catalogservice.exception.BadRequestException;
+import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
+import br.com.solutis.squad1.catalogservice.importer.ProductImportFormat;
+import br.com.solutis.squad1.catalogservice.importer.ProductImportJob;
+import br.com.solutis.squad1.catalogservice.importer.ProductImportReader;
+import br.com.solutis.squad1.catalogservice.importer.ProductImportRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service class that imports products in bulk from CSV or NDJSON files.
+ *
+ * {@link #start} copies the request body to a temporary file (up to {@code catalog.products.import.max-size}) and
+ * returns a job right away. The file is then read row by row by one of the {@code catalog.products.import.workers}
+ * import threads; when {@code catalog.products.import.queue-capacity} imports are already waiting, the file is
+ * discarded and the request gets 503.
+ *
+ * Rows are validated against the {@link CategoryRegistry}, without querying the database, and saved by
+ * {@link ProductService#saveAll} in transactions of {@code catalog.products.import.chunk-size} rows. When a chunk fails
+ * its rows are saved one by one, so only the offending rows are rejected; the first
+ * {@code catalog.products.import.max-errors} of them are reported by line in the job, which can be fetched for
+ * {@code catalog.products.import.retention}.
+ */
+@Service
+@Slf4j
+public class ProductImportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Tamanho das colunas varchar de products
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final ProductService productService;
+    private final CategoryRegistry categoryRegistry;
+    private final ObjectMapper objectMapper;
+    private final BackgroundJobRunner<ProductImportJob> jobs;
+    private final DataSize maxSize;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public ProductImportService(
+            ProductService productService,
+            CategoryRegistry categoryRegistry,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.products.import.workers:1}") int workers,
+            @Value("${catalog.products.import.queue-capacity:10}") int queueCapacity,
+            @Value("${catalog.products.import.chunk-size:500}") int chunkSize,
+            @Value("${catalog.products.import.max-size:100MB}") DataSize maxSize,
+            @Value("${catalog.products.import.max-errors:1000}") int maxErrors,
+            @Value("${catalog.products.import.retention:1h}") Duration retention
+    ) {
+        this.productService = productService;
+        this.categoryRegistry = categoryRegistry;
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxErrors = maxErrors;
+        this.jobs = new BackgroundJobRunner<>("import", meterRegistry, workers, queueCapacity, retention);
+    }
+
+    /**
+     * Receive the import file and start importing it in the background
+     *
+     * @param format
+     * @param charset
+     * @param content
+     * @return ProductImportJobDto
+     */
+    public ProductImportJobDto start(ProductImportFormat format, Charset charset, InputStream content) {
+        Path file = receive(content);
+        ProductImportJob job = new ProductImportJob(format, maxErrors);
+        log.info("Product import {} received ({})", job.getId(), format);
+        jobs.submit(job.getId(), job, () -> run(job, file, charset), () -> {
+            log.warn("Product import {} rejected, the import queue is full or shut down", job.getId());
+            job.fail("Import rejected, the import queue is full");
+            delete(file);
+        });
+        return job.toDto();
+    }
+
+    /**
+     * Find import job by id
+     *
+     * @param id
+     * @return ProductImportJobDto
+     */
+    public ProductImportJobDto findById(UUID id) {
+        return jobs.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Import job not found"))
+                .toDto();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.shutdown();
+    }
+
+    void run(ProductImportJob job, Path file, Charset charset) {
+        job.start();
+        try (ProductImportReader rows = job.getFormat().open(Files.newBufferedReader(file, charset), objectMapper)) {
+            List<ProductImportRow> chunk = new ArrayList<>(chunkSize);
+            ProductImportRow row;
+            while ((row = rows.next()) != null) {
+                String error = row.error() != null ? row.error() : validate(row.product());
+                if (error != null) {
+                    job.failed(row.line(), error);
+                    continue;
+                }
+
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    save(job, chunk);
+                    chunk.clear();
+                }
+            }
+
+            if (!chunk.isEmpty()) save(job, chunk);
+            job.complete();
+            log.info("Product import {} completed", job.getId());
+        } catch (Exception e) {
+            log.error("Product import {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            delete(file);
+        }
+    }
+
+    private Path receive(InputStream content) {
+        Path file;
+        try {
+            file = Files.createTempFile("product-import-", ".tmp");
+        } catch (IOException e) {
+            log.error("An error occurred while receiving the file", e);
+            throw new RuntimeException("An error occurred while receiving the file", e);
+        }
+
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long size = 0;
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                size += read;
+                if (size > maxSize.toBytes()) {
+                    throw new BadRequestException("Import file exceeds the maximum size of " + maxSize);
+                }
+
+                out.write(buffer, 0, read);
+            }
+
+            return file;
+        } catch (IOException e) {
+            delete(file);
+            log.error("An error occurred while receiving the file", e);
+            throw new RuntimeException("An error occurred while receiving the file", e);
+        } catch (RuntimeException e) {
+            delete(file);
+            throw e;
+        }
+    }
+
+    private String validate(ProductPostDto product) {
+        if (isBlank(product.name())) return "name is required";
+        if (product.name().length() > MAX_TEXT_LENGTH) return "name must be at most " + MAX_TEXT_LENGTH + " characters long";
+        if (isBlank(product.description())) return "description is required";
+        if (product.description().length() > MAX_TEXT_LENGTH) {
+            return "description must be at most " + MAX_TEXT_LENGTH + " characters long";
+        }
+        if (product.price() == null) return "price is required";
+        if (product.price().compareTo(BigDecimal.ZERO) < 0) return "price must be at least 0";
+        if (product.sellerId() == null) return "sellerId is required";
+        if (product.categoryIds() == null || product.categoryIds().isEmpty()) return "categoryIds is required";
+
+        List<Long> unknownCategoryIds = product.categoryIds().stream()
+                .filter(id -> id == null || categoryRegistry.findById(id).isEmpty())
+                .toList();
+        if (!unknownCategoryIds.isEmpty()) return "Category not found: " + unknownCategoryIds;
+
+        return null;
+    }
+
+    private void save(ProductImportJob job, List<ProductImportRow> chunk) {
+        try {
+            productService.saveAll(chunk.stream().map(ProductImportRow::product).toList());
+            job.imported(chunk.size());
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                log.warn("Could not import the product at line {}", chunk.get(0).line(), e);
+                job.failed(chunk.get(0).line(), "Could not save product: " + e.getMessage());
+                return;
+            }
+
+            // Isola as linhas com erro salvando o lote linha a linha
+            log.warn("Could not import a chunk of {} products, importing them one by one", chunk.size(), e);
+            for (ProductImportRow row : chunk) {
+                save(job, List.of(row));
+            }
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete the import file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package br.com.solutis.squad1.catalogservice.service;
+
+import br.com.solutis.squad1.catalogservice.dto.product.ProductPatchDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductPatchResultDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service class that updates the price, name and description of products in bulk, for repricing jobs.
+ *
+ * The changes are read one by one from the request body (a JSON array or one change per line) and applied by
+ * {@link ProductService#patchAll} in transactions of {@code catalog.products.patch.chunk-size} changes, each one a
+ * single set-based statement. A chunk never has the same id twice: a repeated id applies the pending chunk first, so
+ * the last change wins. When a chunk fails its changes are applied one by one, so only the offending ones are rejected.
+ *
+ * Every change gets a result, in request order. The chunks are committed as they are read, so a malformed body keeps
+ * the changes before the error and stops there.
+ */
+@Service
+@Slf4j
+public class ProductPatchService {
+    // Tamanho das colunas varchar de products
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final ProductService productService;
+    private final ObjectReader patchReader;
+    private final int chunkSize;
+
+    public ProductPatchService(
+            ProductService productService,
+            ObjectMapper objectMapper,
+            @Value("${catalog.products.patch.chunk-size:1000}") int chunkSize
+    ) {
+        this.productService = productService;
+        this.patchReader = objectMapper.readerFor(ProductPatchDto.class);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Apply the changes of the body in chunks
+     *
+     * @param content
+     * @return List<ProductPatchResultDto>
+     */
+    public List<ProductPatchResultDto> patch(InputStream content) {
+        List<ProductPatchResultDto> results = new ArrayList<>();
+        // Posição do resultado de cada alteração pendente, por id
+        Map<Long, Integer> chunk = new LinkedHashMap<>();
+        Map<Long, ProductPatchDto> patches = new LinkedHashMap<>();
+
+        try (MappingIterator<ProductPatchDto> values = patchReader.readValues(content)) {
+            while (values.hasNextValue()) {
+                ProductPatchDto patch;
+                try {
+                    patch = values.nextValue();
+                } catch (JsonMappingException e) {
+                    results.add(ProductPatchResultDto.invalid(
+                            null,
+                            "Invalid change #" + (results.size() + 1) + ": " + e.getOriginalMessage()
+                    ));
+                    continue;
+                }
+
+                String error = validate(patch);
+                if (error != null) {
+                    results.add(ProductPatchResultDto.invalid(patch != null ? patch.id() : null, error));
+                    continue;
+                }
+
+                if (patches.containsKey(patch.id())) apply(patches, chunk, results);
+
+                patches.put(patch.id(), patch);
+                chunk.put(patch.id(), results.size());
+                results.add(null);
+                if (patches.size() == chunkSize) apply(patches, chunk, results);
+            }
+        } catch (IOException e) {
+            log.warn("Stopped reading the product changes at change #{}", results.size() + 1, e);
+            String message = e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+            results.add(ProductPatchResultDto.invalid(
+                    null,
+                    "Invalid change #" + (results.size() + 1) + ", the following changes were not read: " + message
+            ));
+        }
+
+        if (!patches.isEmpty()) apply(patches, chunk, results);
+        log.info("Patched products, {} changes", results.size());
+        return results;
+    }
+
+    private String validate(ProductPatchDto patch) {
+        if (patch == null || patch.id() == null) return "id is required";
+        if (patch.price() == null && patch.name() == null && patch.description() == null) {
+            return "price, name or description is required";
+        }
+        if (patch.price() != null && patch.price().compareTo(BigDecimal.ZERO) < 0) return "price must be at least 0";
+        if (patch.name() != null && patch.name().isBlank()) return "name must not be blank";
+        if (patch.name() != null && patch.name().length() > MAX_TEXT_LENGTH) {
+            return "name must be at most " + MAX_TEXT_LENGTH + " characters long";
+        }
+        if (patch.description() != null && patch.description().isBlank()) return "description must not be blank";
+        if (patch.description() != null && patch.description().length() > MAX_TEXT_LENGTH) {
+            return "description must be at most " + MAX_TEXT_LENGTH + " characters long";
+        }
+
+        return null;
+    }
+
+    private void apply(
+            Map<Long, ProductPatchDto> patches,
+            Map<Long, Integer> chunk,
+            List<ProductPatchResultDto> results
+    ) {
+        save(List.copyOf(patches.values()), chunk, results);
+        patches.clear();
+        chunk.clear();
+    }
+
+    private void save(List<ProductPatchDto> patches, Map<Long, Integer> chunk, List<ProductPatchResultDto> results) {
+        try {
+            Set<Long> updatedIds = productService.patchAll(patches);
+            for (ProductPatchDto patch : patches) {
+                results.set(chunk.get(patch.id()), updatedIds.contains(patch.id())
+                        ? ProductPatchResultDto.updated(patch.id())
+                        : ProductPatchResultDto.missing(patch.id()));
+            }
+        } catch (RuntimeException e) {
+            if (patches.size() == 1) {
+                Long id = patches.get(0).id();
+                log.warn("Could not update the product {}", id, e);
+                results.set(chunk.get(id), ProductPatchResultDto.invalid(id, "Could not update product: " + e.getMessage()));
+                return;
+            }
+
+            // Isola as alterações com erro aplicando o lote uma a uma
+            log.warn("Could not update a chunk of {} products, updating them one by one", patches.size(), e);
+            for (ProductPatchDto patch : patches) {
+                save(List.of(patch), chunk, results);
+            }
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package br.com.solutis.squad1.catalogservice.service;
 
+import br.com.solutis.squad1.catalogservice.cache.CategoryRegistry;
+import br.com.solutis.squad1.catalogservice.cache.ProductCountCache;
+import br.com.solutis.squad1.catalogservice.cache.ProductDetailCache;
 import br.com.solutis.squad1.catalogservice.dto.category.CategoryResponseDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductBatchItemDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductCursorPageDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductPatchDto;
 import br.com.solutis.squad1.catalogservice.dto.product.ProductPostDto;
 import br.com.solutis.squad1.catalogservice.dto.product.ProductPutDto;
 import br.com.solutis.squad1.catalogservice.dto.product.ProductResponseDto;
+import br.com.solutis.squad1.catalogservice.exception.BadRequestException;
 import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
 import br.com.solutis.squad1.catalogservice.mapper.CategoryMapper;
 import br.com.solutis.squad1.catalogservice.mapper.ProductMapper;
@@ -13,15 +20,28 @@ import br.com.solutis.squad1.catalogservice.model.entity.Product;
 import br.com.solutis.squad1.catalogservice.model.repository.CategoryRepository;
 import br.com.solutis.squad1.catalogservice.model.repository.ProductRepository;
 import br.com.solutis.squad1.catalogservice.model.repository.ProductRepositoryCustom;
+import br.com.solutis.squad1.catalogservice.outbox.Outbox;
+import br.com.solutis.squad1.catalogservice.outbox.OutboxEvent;
+import br.com.solutis.squad1.catalogservice.search.ProductSearchIndex;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -35,7 +55,9 @@ import java.util.stream.Collectors;
  *
  * This service interacts with the {@link ProductRepository} and {@link ProductRepositoryCustom} for database access,
  * {@link CategoryRepository} for category-related operations, {@link ProductMapper} for mapping between DTOs and entities,
- * and {@link CategoryMapper} for category-related mapping.
+ * and {@link CategoryMapper} for category-related mapping. Lists are hydrated with categories and image by the
+ * {@link ProductHydrator}, keeping a constant number of queries per request. Every change also appends an event to the
+ * {@link Outbox}, in the same transaction, for the downstream services.
  *
  * @Service Indicates that this class is a Spring service bean.
  * @Transactional Specifies that the methods of this service are transactional.
@@ -46,11 +68,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProductService.class);
+    private static final int BATCH_MAX_SIZE = 5000;
+    private static final int BATCH_CHUNK_SIZE = 1000;
     private final ProductRepository productRepository;
     private final ProductRepositoryCustom productRepositoryCustom;
     private final CategoryRepository categoryRepository;
+    private final CategoryRegistry categoryRegistry;
     private final ProductMapper mapper;
     private final CategoryMapper categoryMapper;
+    private final ProductCountCache productCountCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductHydrator productHydrator;
+    private final ProductDetailCache productDetailCache;
+    private final Outbox outbox;
 
     /**
      * Find all products
@@ -63,12 +93,18 @@ public class ProductService {
     public Page<ProductResponseDto> findAll(String productName, String categoryName, Pageable pageable) {
         LOGGER.info("Find all products with product name: {} and category name: {}", productName, categoryName);
 
-        Page<Product> products = productRepositoryCustom
+        if (productSearchIndex.canSearch(productName) && pageable.getSort().isUnsorted()) {
+            return findAllFromSearchIndex(productName, categoryName, pageable).map(mapper::toResponseDto);
+        }
+
+        List<Product> products = productRepositoryCustom
                 .findAllWithFilterAndDeletedFalse(productName, categoryName, pageable);
-        productRepository.findProductsCategories(products.getContent());
-        productRepository.findProductsImage(products.getContent());
+        productHydrator.hydrate(products);
 
-        return products.map(mapper::toResponseDto);
+        return PageableExecutionUtils.getPage(products, pageable, () -> productCountCache.get(
+                null, productName, categoryName, null,
+                () -> productRepositoryCustom.countWithFilterAndDeletedFalse(null, productName, categoryName)
+        )).map(mapper::toResponseDto);
     }
 
     /**
@@ -83,14 +119,111 @@ public class ProductService {
     public Page<ProductResponseDto> findBySellerId(Long id, String productName, String categoryName, Pageable pageable) {
         LOGGER.info("Find seller by id {} with category", id);
 
-        Page<Product> products = productRepositoryCustom
+        List<Product> products = productRepositoryCustom
                 .findAllWithFilterBySellerIdAndDeletedFalse(id, productName, categoryName, pageable);
-        productRepository.findProductsCategories(products.getContent());
-        productRepository.findProductsImage(products.getContent());
+        productHydrator.hydrate(products);
+
+        return PageableExecutionUtils.getPage(products, pageable, () -> productCountCache.get(
+                id, productName, categoryName, null,
+                () -> productRepositoryCustom.countWithFilterAndDeletedFalse(id, productName, categoryName)
+        )).map(mapper::toResponseDto);
+    }
+
+    /**
+     * Full-text search over product name and description, ranked by relevance
+     *
+     * @param searchQuery
+     * @param categoryName
+     * @param pageable
+     * @return Page<ProductResponseDto>
+     */
+    public Page<ProductResponseDto> search(String searchQuery, String categoryName, Pageable pageable) {
+        LOGGER.info("Search products with query: {} and category name: {}", searchQuery, categoryName);
+
+        List<Product> products = productRepositoryCustom
+                .searchWithFullTextAndDeletedFalse(searchQuery, categoryName, pageable);
+        productHydrator.hydrate(products);
+
+        return PageableExecutionUtils.getPage(products, pageable, () -> productCountCache.get(
+                null, null, categoryName, searchQuery,
+                () -> productRepositoryCustom.countWithFullTextAndDeletedFalse(searchQuery, categoryName)
+        )).map(mapper::toResponseDto);
+    }
+
+    /**
+     * Find a slice of products, skipping the total count
+     *
+     * @param productName
+     * @param categoryName
+     * @param pageable
+     * @return Slice<ProductResponseDto>
+     */
+    public Slice<ProductResponseDto> findAllSlice(String productName, String categoryName, Pageable pageable) {
+        LOGGER.info("Find slice of products with product name: {} and category name: {}", productName, categoryName);
+
+        Slice<Product> products = productRepositoryCustom
+                .findAllSliceWithFilterAndDeletedFalse(productName, categoryName, pageable);
+        productHydrator.hydrate(products.getContent());
+
+        return products.map(mapper::toResponseDto);
+    }
+
+    /**
+     * Find a slice of products by seller id, skipping the total count
+     *
+     * @param id
+     * @param productName
+     * @param categoryName
+     * @param pageable
+     * @return Slice<ProductResponseDto>
+     */
+    public Slice<ProductResponseDto> findBySellerIdSlice(Long id, String productName, String categoryName, Pageable pageable) {
+        LOGGER.info("Find slice of seller by id {} with category", id);
+
+        Slice<Product> products = productRepositoryCustom
+                .findAllSliceWithFilterBySellerIdAndDeletedFalse(id, productName, categoryName, pageable);
+        productHydrator.hydrate(products.getContent());
 
         return products.map(mapper::toResponseDto);
     }
 
+    /**
+     * Find all products after the cursor (keyset pagination)
+     *
+     * @param productName
+     * @param categoryName
+     * @param after
+     * @param size
+     * @return ProductCursorPageDto
+     */
+    public ProductCursorPageDto findAllAfter(String productName, String categoryName, String after, int size) {
+        LOGGER.info("Find all products after cursor {} with product name: {} and category name: {}", after, productName, categoryName);
+
+        List<Product> products = productRepositoryCustom
+                .findAllWithFilterAndDeletedFalseAfter(productName, categoryName, ProductCursorPageDto.decodeCursor(after), size + 1);
+
+        return toCursorPage(products, size);
+    }
+
+    /**
+     * Find all products by seller id after the cursor (keyset pagination)
+     *
+     * @param id
+     * @param productName
+     * @param categoryName
+     * @param after
+     * @param size
+     * @return ProductCursorPageDto
+     */
+    public ProductCursorPageDto findBySellerIdAfter(Long id, String productName, String categoryName, String after, int size) {
+        LOGGER.info("Find seller by id {} after cursor {}", id, after);
+
+        List<Product> products = productRepositoryCustom
+                .findAllWithFilterBySellerIdAndDeletedFalseAfter(id, productName, categoryName, ProductCursorPageDto.decodeCursor(after), size + 1);
+
+        return toCursorPage(products, size);
+    }
+
     /**
      * Find product by id
      *
@@ -99,10 +232,12 @@ public class ProductService {
      */
     public ProductResponseDto findById(Long id) {
         LOGGER.info("Find product by id {}", id);
-        Product product = productRepository.findByIdAndDeletedIsFalse(id)
-                .orElseThrow(() -> new EntityNotFoundException("Product not found"));
+        return productDetailCache.get(id, productId -> {
+            Product product = productRepository.findByIdAndDeletedIsFalse(productId)
+                    .orElseThrow(() -> new EntityNotFoundException("Product not found"));
 
-        return mapper.toResponseDto(product);
+            return mapper.toResponseDto(product);
+        });
     }
 
     /**
@@ -124,17 +259,122 @@ public class ProductService {
         Set<Long> categoriesIds = categories.stream().map(Category::getId).collect(Collectors.toSet());
 
         LOGGER.info("Save product");
-        product = productRepository.save(product);
+        // O id vem da sequence e o insert fica para o flush: o produto precisa existir antes do insert nativo das categorias
+        product = productRepository.saveAndFlush(product);
         LOGGER.info("Product saved");
 
         LOGGER.info("Save product categories");
         productRepository.saveAllCategories(product.getId(), categoriesIds);
         LOGGER.info("Product categories saved");
 
+        outbox.append(OutboxEvent.Aggregate.PRODUCT, product.getId(), OutboxEvent.Type.CREATED);
+        Long productId = product.getId();
+        String productName = product.getName();
+        // Invalidar antes do commit deixaria outra requisição recarregar a contagem antiga
+        TransactionHooks.afterCommit(() -> {
+            productSearchIndex.index(productId, productName, categoriesIds);
+            productCountCache.invalidateAll();
+        });
+
         Set<CategoryResponseDto> categoriesResponse = categoryMapper.toResponseDto(categories);
         return new ProductResponseDto(product, categoriesResponse);
     }
 
+    /**
+     * Save products in a single transaction
+     *
+     * Used by the bulk import: the products and their category links are inserted in JDBC batches, the categories are
+     * resolved in the {@link CategoryRegistry} and linked by reference, without querying them. A product with an unknown
+     * or deleted category fails the whole call, so the caller can save the products one by one to isolate it.
+     *
+     * @param productPostDtos
+     * @return List<Long> ids of the saved products
+     */
+    public List<Long> saveAll(List<ProductPostDto> productPostDtos) {
+        LOGGER.info("Saving {} products", productPostDtos.size());
+        Set<Long> categoryIds = productPostDtos.stream()
+                .flatMap(productPostDto -> productPostDto.categoryIds().stream())
+                .collect(Collectors.toSet());
+        Set<Long> knownCategoryIds = categoryRegistry.findAllById(categoryIds).stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+
+        List<Product> products = new ArrayList<>(productPostDtos.size());
+        for (ProductPostDto productPostDto : productPostDtos) {
+            List<Long> unknownCategoryIds = productPostDto.categoryIds().stream()
+                    .filter(categoryId -> !knownCategoryIds.contains(categoryId))
+                    .toList();
+            if (!unknownCategoryIds.isEmpty()) {
+                throw new EntityNotFoundException("Category not found: " + unknownCategoryIds);
+            }
+
+            Product product = mapper.postDtoToEntity(productPostDto);
+            product.setCategories(productPostDto.categoryIds().stream()
+                    .map(categoryRepository::getReferenceById)
+                    .collect(Collectors.toSet()));
+            products.add(product);
+        }
+
+        productRepository.saveAll(products);
+
+        List<Long> productIds = products.stream().map(Product::getId).toList();
+        outbox.appendAll(OutboxEvent.Aggregate.PRODUCT, productIds, OutboxEvent.Type.CREATED);
+        TransactionHooks.afterCommit(() -> {
+            products.forEach(product -> productSearchIndex.index(
+                    product.getId(),
+                    product.getName(),
+                    product.getCategories().stream().map(Category::getId).toList()
+            ));
+            productCountCache.invalidateAll();
+        });
+
+        return productIds;
+    }
+
+    /**
+     * Update the price, name and description of products in a single transaction
+     *
+     * Used by the bulk update: the changes are applied with one set-based statement, without loading the products, and
+     * the caches and the search index are refreshed once for the whole chunk after commit.
+     *
+     * @param productPatchDtos changes with distinct ids, already validated
+     * @return Set<Long> ids of the updated products, deleted and unknown ids are left out
+     */
+    public Set<Long> patchAll(List<ProductPatchDto> productPatchDtos) {
+        LOGGER.info("Patching {} products", productPatchDtos.size());
+        Set<Long> updatedIds = new HashSet<>(productRepositoryCustom.updateAllDeletedFalse(productPatchDtos));
+        if (updatedIds.isEmpty()) return updatedIds;
+
+        outbox.appendAll(OutboxEvent.Aggregate.PRODUCT, updatedIds, OutboxEvent.Type.UPDATED);
+
+        Map<Long, String> renamed = productPatchDtos.stream()
+                .filter(productPatchDto -> productPatchDto.name() != null && updatedIds.contains(productPatchDto.id()))
+                .collect(Collectors.toMap(ProductPatchDto::id, ProductPatchDto::name));
+        Map<Long, Set<Long>> categoryIdsByProductId = Map.of();
+        if (!renamed.isEmpty()) {
+            // O índice de busca guarda nome e categorias, então as categorias dos renomeados são lidas de uma vez
+            categoryIdsByProductId = productRepository.findCategoryIdsByProductIds(renamed.keySet()).stream()
+                    .collect(Collectors.groupingBy(
+                            row -> ((Number) row[0]).longValue(),
+                            Collectors.mapping(row -> ((Number) row[1]).longValue(), Collectors.toSet())
+                    ));
+        }
+
+        // As contagens da busca textual dependem da descrição, além do nome
+        boolean textChanged = productPatchDtos.stream()
+                .anyMatch(productPatchDto -> (productPatchDto.name() != null || productPatchDto.description() != null)
+                        && updatedIds.contains(productPatchDto.id()));
+
+        Map<Long, Set<Long>> categories = categoryIdsByProductId;
+        TransactionHooks.afterCommit(() -> {
+            productDetailCache.invalidateAll(updatedIds);
+            renamed.forEach((id, name) -> productSearchIndex.index(id, name, categories.getOrDefault(id, Set.of())));
+            if (textChanged) productCountCache.invalidateAll();
+        });
+
+        return updatedIds;
+    }
+
     /**
      * Update product
      *
@@ -150,23 +390,38 @@ public class ProductService {
 
         Product newProduct = mapper.putDtoToEntity(productPutDto);
 
-        Set<Category> categories = getCategories(productPutDto.categoryIds());
-        if (categories.isEmpty()) {
-            throw new EntityNotFoundException("Category not found");
+        Set<Category> categories;
+        if (productPutDto.categoryIds() == null) {
+            // Sem alteração de categorias a resposta usa as categorias atuais do produto (carregadas pela coleção lazy)
+            categories = product.getCategories();
+        } else {
+            categories = getCategories(productPutDto.categoryIds());
+            if (categories.isEmpty()) {
+                throw new EntityNotFoundException("Category not found");
+            }
         }
         Set<Long> categoriesIds = categories.stream().map(Category::getId).collect(Collectors.toSet());
 
         LOGGER.info("Update product");
+        String previousName = product.getName();
         product.update(newProduct);
         LOGGER.info("Product updated");
 
-        LOGGER.info("Delete product categories");
-        product.deleteCategories();
-        LOGGER.info("Product categories deleted");
+        if (productPutDto.categoryIds() != null) {
+            Set<Long> currentCategoryIds = new HashSet<>(productRepository.findCategoryIdsByProductId(id));
+            updateCategories(id, currentCategoryIds, categoriesIds);
+        }
 
-        LOGGER.info("Save product categories");
-        productRepository.saveAllCategories(product.getId(), categoriesIds);
-        LOGGER.info("Product categories saved");
+        outbox.append(OutboxEvent.Aggregate.PRODUCT, id, OutboxEvent.Type.UPDATED);
+        Long productId = product.getId();
+        String productName = product.getName();
+        // O índice só guarda nome e categorias, então só é atualizado quando um deles muda
+        boolean reindex = productPutDto.categoryIds() != null || !Objects.equals(previousName, productName);
+        TransactionHooks.afterCommit(() -> {
+            if (reindex) productSearchIndex.index(productId, productName, categoriesIds);
+            productDetailCache.invalidate(productId);
+            productCountCache.invalidateAll();
+        });
 
         Set<CategoryResponseDto> categoriesResponse = categoryMapper.toResponseDto(categories);
         return new ProductResponseDto(product, categoriesResponse);
@@ -182,6 +437,57 @@ public class ProductService {
         Product product = productRepository.getReferenceById(id);
         product.delete();
         LOGGER.info("Product deleted");
+
+        outbox.append(OutboxEvent.Aggregate.PRODUCT, id, OutboxEvent.Type.DELETED);
+        TransactionHooks.afterCommit(() -> {
+            productSearchIndex.remove(id);
+            productDetailCache.invalidate(id);
+            productCountCache.invalidateAll();
+        });
+    }
+
+    /**
+     * Soft-delete all products of a seller with a single statement
+     *
+     * @param sellerId
+     * @return int number of deleted products
+     */
+    public int deleteAllBySellerId(Long sellerId) {
+        LOGGER.info("Deleting products of seller with id {}", sellerId);
+        return afterDeleteAll(productRepositoryCustom.softDeleteAllBySellerId(sellerId));
+    }
+
+    /**
+     * Soft-delete products by ids with a single statement, ids already deleted or unknown are ignored
+     *
+     * @param ids
+     * @return int number of deleted products
+     */
+    public int deleteAllById(Collection<Long> ids) {
+        LOGGER.info("Deleting {} products", ids.size());
+        return afterDeleteAll(productRepositoryCustom.softDeleteAllByIdIn(ids));
+    }
+
+    /**
+     * Restore all soft-deleted products of a seller with a single statement
+     *
+     * @param sellerId
+     * @return int number of restored products
+     */
+    public int restoreAllBySellerId(Long sellerId) {
+        LOGGER.info("Restoring products of seller with id {}", sellerId);
+        return afterRestoreAll(productRepositoryCustom.restoreAllBySellerId(sellerId));
+    }
+
+    /**
+     * Restore soft-deleted products by ids with a single statement, ids not deleted or unknown are ignored
+     *
+     * @param ids
+     * @return int number of restored products
+     */
+    public int restoreAllById(Collection<Long> ids) {
+        LOGGER.info("Restoring {} products", ids.size());
+        return afterRestoreAll(productRepositoryCustom.restoreAllByIdIn(ids));
     }
 
     /**
@@ -196,6 +502,10 @@ public class ProductService {
         product.setImage(image);
         productRepository.save(product);
         LOGGER.info("Product image saved");
+
+        outbox.append(OutboxEvent.Aggregate.PRODUCT, productId, OutboxEvent.Type.UPDATED);
+
+        TransactionHooks.afterCommit(() -> productDetailCache.invalidate(productId));
     }
 
     /**
@@ -208,11 +518,106 @@ public class ProductService {
         Product product = productRepository.getReferenceById(id);
         product.setImage(null);
         productRepository.save(product);
+
+        outbox.append(OutboxEvent.Aggregate.PRODUCT, id, OutboxEvent.Type.UPDATED);
+
+        TransactionHooks.afterCommit(() -> productDetailCache.invalidate(id));
+    }
+
+    private Page<Product> findAllFromSearchIndex(String productName, String categoryName, Pageable pageable) {
+        Long categoryId = null;
+        if (categoryName != null) {
+            categoryId = categoryRegistry.findByName(categoryName)
+                    .orElseThrow(() -> new EntityNotFoundException("Category not found"))
+                    .getId();
+        }
+
+        ProductSearchIndex.SearchResult result = productSearchIndex
+                .search(productName, categoryId, pageable.getOffset(), pageable.getPageSize());
+
+        // Apenas a página final é buscada no banco, mantendo a ordem do índice
+        List<Product> products = productHydrator.findAllByIds(result.ids());
+
+        return new PageImpl<>(products, pageable, result.total());
+    }
+
+    private ProductCursorPageDto toCursorPage(List<Product> products, int size) {
+        boolean hasNext = products.size() > size;
+        List<Product> content = hasNext ? products.subList(0, size) : products;
+
+        productHydrator.hydrate(content);
+
+        String nextCursor = hasNext ? ProductCursorPageDto.encodeCursor(content.get(content.size() - 1).getId()) : null;
+        return new ProductCursorPageDto(
+                content.stream().map(mapper::toResponseDto).toList(),
+                size,
+                hasNext,
+                nextCursor
+        );
+    }
+
+    private void updateCategories(Long productId, Set<Long> currentCategoryIds, Set<Long> categoryIds) {
+        // Só grava as diferenças: vínculos mantidos não são apagados e reinseridos
+        Set<Long> removed = new HashSet<>(currentCategoryIds);
+        removed.removeAll(categoryIds);
+        Set<Long> added = new HashSet<>(categoryIds);
+        added.removeAll(currentCategoryIds);
+
+        if (!removed.isEmpty()) {
+            LOGGER.info("Delete product categories {}", removed);
+            productRepository.deleteCategories(productId, removed);
+        }
+
+        if (!added.isEmpty()) {
+            LOGGER.info("Save product categories {}", added);
+            productRepository.saveAllCategories(productId, added);
+        }
+    }
+
+    private int afterDeleteAll(List<Long> deletedIds) {
+        if (deletedIds.isEmpty()) return 0;
+
+        outbox.appendAll(OutboxEvent.Aggregate.PRODUCT, deletedIds, OutboxEvent.Type.DELETED);
+        TransactionHooks.afterCommit(() -> {
+            deletedIds.forEach(productSearchIndex::remove);
+            productDetailCache.invalidateAll(deletedIds);
+            productCountCache.invalidateAll();
+        });
+
+        return deletedIds.size();
+    }
+
+    private int afterRestoreAll(List<Object[]> restored) {
+        if (restored.isEmpty()) return 0;
+
+        List<Long> restoredIds = restored.stream().map(row -> ((Number) row[0]).longValue()).toList();
+        outbox.appendAll(OutboxEvent.Aggregate.PRODUCT, restoredIds, OutboxEvent.Type.RESTORED);
+        // As categorias são lidas em blocos, para não passar do limite de parâmetros de uma consulta
+        Map<Long, Set<Long>> categoryIdsByProductId = new HashMap<>();
+        for (int from = 0; from < restoredIds.size(); from += BATCH_CHUNK_SIZE) {
+            List<Long> chunk = restoredIds.subList(from, Math.min(from + BATCH_CHUNK_SIZE, restoredIds.size()));
+            for (Object[] row : productRepository.findCategoryIdsByProductIds(chunk)) {
+                categoryIdsByProductId
+                        .computeIfAbsent(((Number) row[0]).longValue(), id -> new HashSet<>())
+                        .add(((Number) row[1]).longValue());
+            }
+        }
+
+        TransactionHooks.afterCommit(() -> {
+            restored.forEach(row -> {
+                Long id = ((Number) row[0]).longValue();
+                productSearchIndex.index(id, (String) row[1], categoryIdsByProductId.getOrDefault(id, Set.of()));
+            });
+            productDetailCache.invalidateAll(restoredIds);
+            productCountCache.invalidateAll();
+        });
+
+        return restored.size();
     }
 
     private Set<Category> getCategories(List<Long> ids) {
         LOGGER.info("Find categories by ids {}", ids);
-        return categoryRepository.findAllByListOfIdAndDeletedFalse(ids);
+        return categoryRegistry.findAllById(ids);
     }
 
     /**
@@ -223,10 +628,43 @@ public class ProductService {
      */
     public List<ProductResponseDto> findProductsList(List<Long> productsId) {
         LOGGER.info("Find products list with id: {}", productsId);
-        List<Product> products = productRepository.findAllById(productsId);
+        List<Product> products = productHydrator.findAllByIds(productsId);
 
         return products.stream()
                 .map(mapper::toResponseDto)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Find products by ids for downstream services, in request order
+     *
+     * Duplicated ids are returned once; ids of deleted or unknown products are marked as such.
+     *
+     * @param ids
+     * @return List<ProductBatchItemDto>
+     */
+    public List<ProductBatchItemDto> findBatch(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) return List.of();
+
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.size() > BATCH_MAX_SIZE) {
+            throw new BadRequestException("Batch size must be at most " + BATCH_MAX_SIZE + " products");
+        }
+        LOGGER.info("Find products batch with {} ids", distinctIds.size());
+
+        Map<Long, ProductBatchItemDto> items = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += BATCH_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + BATCH_CHUNK_SIZE, distinctIds.size()));
+            for (Object[] row : productRepository.findBatchItemsByIdIn(chunk)) {
+                Long id = (Long) row[0];
+                items.put(id, Boolean.TRUE.equals(row[4])
+                        ? ProductBatchItemDto.deleted(id)
+                        : ProductBatchItemDto.found(id, (String) row[1], (BigDecimal) row[2], (Long) row[3], (String) row[5]));
+            }
+        }
+
+        return distinctIds.stream()
+                .map(id -> items.getOrDefault(id, ProductBatchItemDto.missing(id)))
+                .toList();
+    }
 }
@@ -0,0 +1,96 @@
+package br.com.solutis.squad1.catalogservice.storage;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Backend where the image files are persisted, addressed by keys relative to the store root
+ * (e.g. {@code 3c/74/<hash>.png} or {@code variants/thumb/1-2023-11-20-10-15-30.png}).
+ *
+ * Selected with {@code upload.store}: {@code local} ({@link LocalBlobStore}, the default) or {@code s3}
+ * ({@link S3BlobStore}).
+ */
+public interface BlobStore {
+    /**
+     * Persist a local file under the key
+     *
+     * The file is consumed: it is moved into the store, or uploaded and then deleted.
+     *
+     * @param key
+     * @param file
+     * @param contentType
+     */
+    void put(String key, Path file, String contentType);
+
+    /**
+     * Size and last modification of the stored object, or empty when it does not exist
+     *
+     * @param key
+     * @return Optional<BlobInfo>
+     */
+    Optional<BlobInfo> stat(String key);
+
+    /**
+     * Open the stored object from {@code start}; at least {@code length} bytes can be read from the stream
+     *
+     * @param key
+     * @param start
+     * @param length
+     * @return InputStream
+     */
+    InputStream open(String key, long start, long length);
+
+    /**
+     * Delete the stored object, if it exists
+     *
+     * @param key
+     */
+    void delete(String key);
+
+    /**
+     * Whether the object exists
+     *
+     * @param key
+     * @return boolean
+     */
+    default boolean exists(String key) {
+        return stat(key).isPresent();
+    }
+
+    /**
+     * Open the whole stored object
+     *
+     * @param key
+     * @return InputStream
+     */
+    default InputStream open(String key) {
+        return open(key, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Path of the object on the local filesystem, when the store keeps it there (allows zero-copy delivery)
+     *
+     * @param key
+     * @return Optional<Path>
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    /**
+     * Time-limited URL from which clients can download the object directly, when the store supports it
+     *
+     * @param key
+     * @param ttl
+     * @return Optional<URI>
+     */
+    default Optional<URI> presignedUrl(String key, Duration ttl) {
+        return Optional.empty();
+    }
+
+    record BlobInfo(long size, long lastModified) {
+    }
+}
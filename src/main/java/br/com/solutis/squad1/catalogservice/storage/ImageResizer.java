@@ -0,0 +1,159 @@
+package br.com.solutis.squad1.catalogservice.storage;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Downscales images with the JDK only ({@code javax.imageio} and Java 2D).
+ *
+ * Large sources are decoded with subsampling, so a 5 MB photo is never fully decoded just to produce thumbnails, and
+ * images are reduced by successive halvings before the final bilinear step, which keeps the quality close to a bicubic
+ * resize at a fraction of its cost.
+ */
+public final class ImageResizer {
+    // Limite de pixels decodificados, protege contra imagens pequenas em bytes mas enormes em dimensão
+    private static final long MAX_SOURCE_PIXELS = 50_000_000L;
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private ImageResizer() {
+    }
+
+    /**
+     * Image format written for the file extension, or null when the JDK cannot write it
+     *
+     * @param fileName
+     * @return String
+     */
+    public static String formatOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0) return null;
+
+        String suffix = fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersBySuffix(suffix);
+        if (!writers.hasNext()) return null;
+
+        ImageWriter writer = writers.next();
+        String format = writer.getOriginatingProvider().getFormatNames()[0].toLowerCase(Locale.ROOT);
+        writer.dispose();
+        return format;
+    }
+
+    /**
+     * Decode an image, subsampled so that its largest side stays at or above {@code minDimension}
+     *
+     * @param source
+     * @param minDimension
+     * @return BufferedImage, or null when the format cannot be read
+     */
+    public static BufferedImage read(InputStream source, int minDimension) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IOException("Image too large to resize: " + width + "x" + height);
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(width, height) / (2 * minDimension));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Downscale the image so that its largest side is {@code maxDimension}, or return it when already smaller
+     *
+     * @param source
+     * @param maxDimension
+     * @param opaque
+     * @return BufferedImage
+     */
+    public static BufferedImage resize(BufferedImage source, int maxDimension, boolean opaque) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = (double) maxDimension / Math.max(width, height);
+        if (scale >= 1) return source;
+
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        while (width / 2 >= targetWidth && height / 2 >= targetHeight) {
+            width /= 2;
+            height /= 2;
+            current = draw(current, width, height, opaque);
+        }
+
+        return draw(current, targetWidth, targetHeight, opaque);
+    }
+
+    /**
+     * Write the image in the given format
+     *
+     * @param image
+     * @param format
+     * @param target
+     */
+    public static void write(BufferedImage image, String format, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, boolean opaque) {
+        BufferedImage target = new BufferedImage(
+                width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB
+        );
+
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (opaque) {
+                // JPEG não tem canal alfa: áreas transparentes viram branco em vez de preto
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+            }
+
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return target;
+    }
+}
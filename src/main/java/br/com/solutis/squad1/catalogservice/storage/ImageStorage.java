@@ -0,0 +1,269 @@
+package br.com.solutis.squad1.catalogservice.storage;
+
+import br.com.solutis.squad1.catalogservice.exception.BadRequestException;
+import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
+import br.com.solutis.squad1.catalogservice.model.entity.ImageVariant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Names the image files and stores them in the configured {@link BlobStore}.
+ *
+ * Uploads are first written once to the staging directory {@code <upload.dir>/.tmp}, then handed to the store under
+ * their final key. When {@code upload.content-addressed} is true, files are stored once per content: the upload is
+ * hashed (SHA-256) while it is staged and stored under {@code <h0h1>/<h2h3>/<hash>.<ext>}; uploads of an already stored
+ * content just discard the staged file. The archive name exposed to clients stays flat ({@code <hash>.<ext>}), the
+ * shard prefixes are derived from it.
+ *
+ * Files named by the legacy mode ({@code <product id>-<timestamp>.<ext>}) are stored at the root of the store.
+ *
+ * Resized variants mirror the key of the original under {@code variants/<size>/}, so the variants of a
+ * content-addressed file are shared by the images that reference it as well.
+ */
+@Component
+@Slf4j
+public class ImageStorage {
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("[0-9a-f]{64}(\\.\\w+)?");
+    private static final String TEMP_DIR = ".tmp";
+    private static final String VARIANTS_DIR = "variants";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BlobStore blobStore;
+    private final Path stagingDir;
+    private final boolean contentAddressed;
+    private final long maxFileSize;
+
+    public ImageStorage(
+            BlobStore blobStore,
+            @Value("${upload.dir}") String uploadDir,
+            @Value("${upload.content-addressed:false}") boolean contentAddressed,
+            @Value("${spring.servlet.multipart.max-file-size:5MB}") DataSize maxFileSize
+    ) {
+        this.blobStore = blobStore;
+        this.stagingDir = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(TEMP_DIR);
+        this.contentAddressed = contentAddressed;
+        this.maxFileSize = maxFileSize.toBytes();
+    }
+
+    /**
+     * Whether the archive name was produced by the content-addressed mode
+     *
+     * @param archiveName
+     * @return boolean
+     */
+    public static boolean isContentAddressed(String archiveName) {
+        return archiveName != null && CONTENT_ADDRESSED_NAME.matcher(archiveName).matches();
+    }
+
+    /**
+     * Whether new uploads are stored by content
+     *
+     * @return boolean
+     */
+    public boolean isContentAddressed() {
+        return contentAddressed;
+    }
+
+    /**
+     * Write the content to a temporary file in a single pass
+     *
+     * The image type is detected from the leading bytes, and the size and SHA-256 are computed while writing. Content
+     * that is not an image, or that exceeds {@code spring.servlet.multipart.max-file-size}, is rejected as soon as it is
+     * detected.
+     *
+     * @param content
+     * @return StagedFile
+     */
+    public StagedFile stage(InputStream content) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        Path tempFile = null;
+
+        try {
+            int headerLength = content.readNBytes(buffer, 0, ImageType.HEADER_LENGTH);
+            ImageType type = ImageType.detect(buffer, headerLength)
+                    .orElseThrow(() -> new BadRequestException("File must be an image"));
+
+            Path tempDir = Files.createDirectories(stagingDir);
+            tempFile = Files.createTempFile(tempDir, "upload-", type.getExtension());
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size = 0;
+            try (OutputStream output = Files.newOutputStream(tempFile)) {
+                int read = headerLength;
+                while (read > 0) {
+                    size += read;
+                    if (size > maxFileSize) {
+                        throw new BadRequestException("File exceeds the maximum size of " + maxFileSize + " bytes");
+                    }
+
+                    digest.update(buffer, 0, read);
+                    output.write(buffer, 0, read);
+                    read = content.read(buffer);
+                }
+            }
+
+            return new StagedFile(tempFile, HexFormat.of().formatHex(digest.digest()), size, type);
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            deleteQuietly(tempFile);
+            if (e instanceof RuntimeException runtimeException) throw runtimeException;
+
+            log.error("An error occurred while storing the file", e);
+            throw new RuntimeException("An error occurred while storing the file", e);
+        }
+    }
+
+    /**
+     * Move a staged file to its content-addressed location, or discard it when the content is already stored
+     *
+     * Callers must hold the lock of the content hash.
+     *
+     * @param stagedFile
+     * @return String archive name
+     */
+    public String publish(StagedFile stagedFile) {
+        String archiveName = stagedFile.contentHash() + stagedFile.type().getExtension();
+        if (blobStore.exists(key(archiveName))) {
+            log.info("File {} already stored, reusing it", archiveName);
+            discard(stagedFile);
+            return archiveName;
+        }
+
+        return publish(stagedFile, archiveName);
+    }
+
+    /**
+     * Move a staged file to the given archive name (legacy mode)
+     *
+     * With the local store the staging directory is under {@code upload.dir}, so the file is renamed instead of copied
+     * again.
+     *
+     * @param stagedFile
+     * @param archiveName
+     * @return String archive name
+     */
+    public String publish(StagedFile stagedFile, String archiveName) {
+        blobStore.put(key(archiveName), stagedFile.path(), stagedFile.type().getContentType());
+        return archiveName;
+    }
+
+    /**
+     * Store a resized variant of a stored file, consuming the given file
+     *
+     * @param archiveName
+     * @param variant
+     * @param file
+     * @param contentType
+     */
+    public void publishVariant(String archiveName, ImageVariant variant, Path file, String contentType) {
+        blobStore.put(variantKey(archiveName, variant), file, contentType);
+    }
+
+    /**
+     * Whether the resized variant of a stored file exists
+     *
+     * @param archiveName
+     * @param variant
+     * @return boolean
+     */
+    public boolean variantExists(String archiveName, ImageVariant variant) {
+        return blobStore.exists(variantKey(archiveName, variant));
+    }
+
+    /**
+     * Open a stored file
+     *
+     * @param archiveName
+     * @return InputStream
+     */
+    public InputStream open(String archiveName) {
+        return blobStore.open(key(archiveName));
+    }
+
+    /**
+     * Create an empty temporary file in the staging directory
+     *
+     * @param suffix
+     * @return Path
+     */
+    public Path createTempFile(String suffix) throws IOException {
+        return Files.createTempFile(Files.createDirectories(stagingDir), "variant-", suffix);
+    }
+
+    /**
+     * Key of a stored file in the {@link BlobStore}
+     *
+     * Archive names are flat, so anything that could address another location is rejected.
+     *
+     * @param archiveName
+     * @return String
+     */
+    public String key(String archiveName) {
+        if (archiveName == null || archiveName.isBlank() || archiveName.startsWith(".")
+                || archiveName.contains("/") || archiveName.contains("\\")) {
+            throw new EntityNotFoundException("Image not found");
+        }
+
+        return isContentAddressed(archiveName)
+                ? archiveName.substring(0, 2) + "/" + archiveName.substring(2, 4) + "/" + archiveName
+                : archiveName;
+    }
+
+    /**
+     * Key of a resized variant of a stored file in the {@link BlobStore}
+     *
+     * @param archiveName
+     * @param variant
+     * @return String
+     */
+    public String variantKey(String archiveName, ImageVariant variant) {
+        return VARIANTS_DIR + "/" + variant.key() + "/" + key(archiveName);
+    }
+
+    /**
+     * Delete a stored file and its variants
+     *
+     * @param archiveName
+     */
+    public void delete(String archiveName) {
+        log.info("Deleting file {}", archiveName);
+        blobStore.delete(key(archiveName));
+        for (ImageVariant variant : ImageVariant.values()) {
+            blobStore.delete(variantKey(archiveName, variant));
+        }
+    }
+
+    /**
+     * Discard a staged file that was not published
+     *
+     * @param stagedFile
+     */
+    public void discard(StagedFile stagedFile) {
+        deleteQuietly(stagedFile.path());
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary file {}", path, e);
+        }
+    }
+
+    public record StagedFile(Path path, String contentHash, long size, ImageType type) {
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.solutis.squad1.catalogservice.storage;
+
+import java.util.Optional;
+
+/**
+ * Image formats accepted on upload, detected from the first bytes of the content instead of the declared content type.
+ */
+public enum ImageType {
+    JPEG("image/jpeg", ".jpg"),
+    PNG("image/png", ".png"),
+    GIF("image/gif", ".gif"),
+    WEBP("image/webp", ".webp"),
+    BMP("image/bmp", ".bmp");
+
+    /**
+     * Number of leading bytes needed by {@link #detect}
+     */
+    public static final int HEADER_LENGTH = 12;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final String contentType;
+    private final String extension;
+
+    ImageType(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * Detect the image format from the leading bytes of the content
+     *
+     * @param header
+     * @param length number of valid bytes in the header
+     * @return Optional<ImageType>
+     */
+    public static Optional<ImageType> detect(byte[] header, int length) {
+        if (startsWith(header, length, (byte) 0xFF, (byte) 0xD8, (byte) 0xFF)) return Optional.of(JPEG);
+        if (startsWith(header, length, PNG_SIGNATURE)) return Optional.of(PNG);
+        if (startsWith(header, length, (byte) 'G', (byte) 'I', (byte) 'F', (byte) '8')) return Optional.of(GIF);
+        if (startsWith(header, length, (byte) 'R', (byte) 'I', (byte) 'F', (byte) 'F')
+                && length >= 12 && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return Optional.of(WEBP);
+        }
+        if (startsWith(header, length, (byte) 'B', (byte) 'M')) return Optional.of(BMP);
+
+        return Optional.empty();
+    }
+
+    private static boolean startsWith(byte[] header, int length, byte... prefix) {
+        if (length < prefix.length) return false;
+
+        for (int i = 0; i < prefix.length; i++) {
+            if (header[i] != prefix[i]) return false;
+        }
+
+        return true;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
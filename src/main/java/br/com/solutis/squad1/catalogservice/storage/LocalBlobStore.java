@@ -0,0 +1,106 @@
+package br.com.solutis.squad1.catalogservice.storage;
+
+import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+
+/**
+ * {@link BlobStore} that keeps the files under {@code upload.dir} on the local filesystem.
+ *
+ * Files staged under the same directory are renamed into place, never copied, and are delivered with sendfile.
+ */
+@Component
+@ConditionalOnProperty(name = "upload.store", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalBlobStore implements BlobStore {
+    private final Path root;
+
+    public LocalBlobStore(@Value("${upload.dir}") String uploadDir) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void put(String key, Path file, String contentType) {
+        Path target = path(key);
+
+        try {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.error("An error occurred while storing the file", e);
+            throw new RuntimeException("An error occurred while storing the file", e);
+        }
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path(key), BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) return Optional.empty();
+
+            return Optional.of(new BlobInfo(attributes.size(), attributes.lastModifiedTime().toMillis()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.error("An error occurred while reading the file", e);
+            throw new RuntimeException("An error occurred while reading the file", e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key, long start, long length) {
+        try {
+            FileChannel channel = FileChannel.open(path(key));
+            channel.position(start);
+            return Channels.newInputStream(channel);
+        } catch (NoSuchFileException e) {
+            throw new EntityNotFoundException("Image not found");
+        } catch (IOException e) {
+            log.error("An error occurred while loading the file", e);
+            throw new RuntimeException("An error occurred while loading the file", e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(path(key));
+        } catch (IOException e) {
+            log.error("An error occurred while deleting the file", e);
+            throw new RuntimeException("An error occurred while deleting the file", e);
+        }
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(path(key));
+    }
+
+    private Path path(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new EntityNotFoundException("Image not found");
+        }
+
+        return path;
+    }
+}
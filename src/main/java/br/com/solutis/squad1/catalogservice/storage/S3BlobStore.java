@@ -0,0 +1,227 @@
+package br.com.solutis.squad1.catalogservice.storage;
+
+import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link BlobStore} that keeps the files in a bucket of an S3-compatible object store (AWS S3, MinIO, ...).
+ *
+ * Files larger than {@code upload.s3.part-size} are sent with a multipart upload, with up to
+ * {@code upload.s3.upload-concurrency} parts in flight. Set {@code upload.s3.endpoint} and
+ * {@code upload.s3.path-style-access=true} to use a local MinIO; without {@code upload.s3.access-key} the default AWS
+ * credentials chain is used.
+ */
+@Component
+@ConditionalOnProperty(name = "upload.store", havingValue = "s3")
+@Slf4j
+public class S3BlobStore implements BlobStore {
+    // Tamanho mínimo de parte aceito pelo S3, exceto para a última
+    private static final long MIN_PART_SIZE = DataSize.ofMegabytes(5).toBytes();
+
+    private final S3Client client;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final long partSize;
+    private final ExecutorService uploadExecutor;
+
+    public S3BlobStore(
+            @Value("${upload.s3.bucket}") String bucket,
+            @Value("${upload.s3.region:us-east-1}") String region,
+            @Value("${upload.s3.endpoint:}") String endpoint,
+            @Value("${upload.s3.path-style-access:false}") boolean pathStyleAccess,
+            @Value("${upload.s3.access-key:}") String accessKey,
+            @Value("${upload.s3.secret-key:}") String secretKey,
+            @Value("${upload.s3.part-size:8MB}") DataSize partSize,
+            @Value("${upload.s3.upload-concurrency:4}") int uploadConcurrency
+    ) {
+        AwsCredentialsProvider credentials = StringUtils.hasText(accessKey)
+                ? StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey))
+                : DefaultCredentialsProvider.create();
+        S3Configuration configuration = S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyleAccess)
+                .build();
+
+        S3ClientBuilder clientBuilder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(configuration);
+        S3Presigner.Builder presignerBuilder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(configuration);
+        if (StringUtils.hasText(endpoint)) {
+            clientBuilder.endpointOverride(URI.create(endpoint));
+            presignerBuilder.endpointOverride(URI.create(endpoint));
+        }
+
+        this.client = clientBuilder.build();
+        this.presigner = presignerBuilder.build();
+        this.bucket = bucket;
+        this.partSize = Math.max(MIN_PART_SIZE, partSize.toBytes());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.uploadExecutor = Executors.newFixedThreadPool(uploadConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "s3-upload-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void put(String key, Path file, String contentType) {
+        try {
+            long size = Files.size(file);
+            if (size <= partSize) {
+                client.putObject(
+                        request -> request.bucket(bucket).key(key).contentType(contentType),
+                        RequestBody.fromFile(file)
+                );
+            } else {
+                putMultipart(key, file, size, contentType);
+            }
+
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.error("An error occurred while storing the file", e);
+            throw new RuntimeException("An error occurred while storing the file", e);
+        }
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) {
+        try {
+            HeadObjectResponse response = client.headObject(request -> request.bucket(bucket).key(key));
+            return Optional.of(new BlobInfo(response.contentLength(), response.lastModified().toEpochMilli()));
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) return Optional.empty();
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream open(String key, long start, long length) {
+        GetObjectRequest.Builder request = GetObjectRequest.builder().bucket(bucket).key(key);
+        if (start > 0 || length != Long.MAX_VALUE) {
+            String end = length == Long.MAX_VALUE ? "" : String.valueOf(start + length - 1);
+            request.range("bytes=" + start + "-" + end);
+        }
+
+        try {
+            return client.getObject(request.build());
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) throw new EntityNotFoundException("Image not found");
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        client.deleteObject(request -> request.bucket(bucket).key(key));
+    }
+
+    @Override
+    public Optional<URI> presignedUrl(String key, Duration ttl) {
+        try {
+            return Optional.of(presigner.presignGetObject(request -> request
+                    .signatureDuration(ttl)
+                    .getObjectRequest(get -> get.bucket(bucket).key(key))
+            ).url().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid presigned URL for " + key, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        uploadExecutor.shutdownNow();
+        presigner.close();
+        client.close();
+    }
+
+    private void putMultipart(String key, Path file, long size, String contentType) throws IOException {
+        String uploadId = client.createMultipartUpload(request -> request.bucket(bucket).key(key).contentType(contentType))
+                .uploadId();
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            // As partes são enviadas em paralelo, cada uma lida do arquivo na sua posição
+            List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+            for (long offset = 0, partNumber = 1; offset < size; offset += partSize, partNumber++) {
+                long partOffset = offset;
+                int part = (int) partNumber;
+                int length = (int) Math.min(partSize, size - offset);
+                parts.add(CompletableFuture.supplyAsync(
+                        () -> uploadPart(channel, key, uploadId, part, partOffset, length), uploadExecutor
+                ));
+            }
+
+            List<CompletedPart> completedParts = parts.stream().map(CompletableFuture::join).toList();
+            client.completeMultipartUpload(request -> request
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(upload -> upload.parts(completedParts))
+            );
+        } catch (RuntimeException | IOException e) {
+            client.abortMultipartUpload(request -> request.bucket(bucket).key(key).uploadId(uploadId));
+            if (e instanceof CompletionException && e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private CompletedPart uploadPart(FileChannel channel, String key, String uploadId, int partNumber, long offset, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) break;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("An error occurred while reading the file", e);
+        }
+
+        buffer.flip();
+        String eTag = client.uploadPart(
+                request -> request.bucket(bucket).key(key).uploadId(uploadId).partNumber(partNumber).contentLength((long) length),
+                RequestBody.fromByteBuffer(buffer)
+        ).eTag();
+
+        return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+    }
+}
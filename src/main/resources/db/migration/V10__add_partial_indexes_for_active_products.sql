@@ -0,0 +1,25 @@
+-- Every product query filters deleted = false, so the new indexes only cover the active products: they are smaller,
+-- and soft-deleted products are left out of them.
+
+-- Seller listings, counts and cursors (seller_id = ? AND deleted = false, ordered by id) as index-only scans
+CREATE INDEX idx_products_active_seller_id_id ON products (seller_id, id) WHERE deleted = false;
+
+-- Listings and cursors over all the active products, ordered by id
+CREATE INDEX idx_products_active_id ON products (id) WHERE deleted = false;
+
+-- Category filter: the product ids of a category are read from the index, without visiting the table.
+-- products_categories has no deleted column, so this index cannot be partial.
+CREATE INDEX idx_products_categories_category_id_product_id ON products_categories (category_id, product_id);
+DROP INDEX idx_products_categories_category_id;
+
+-- Redundant: product_id is the prefix of the primary key of products_categories
+DROP INDEX idx_products_categories_product_id;
+
+-- Redundant: duplicates of the primary keys
+DROP INDEX idx_products_id;
+DROP INDEX idx_categories_id;
+DROP INDEX idx_images_id;
+
+-- Low selectivity, replaced by the partial indexes. idx_products_seller_id is kept for the queries over deleted
+-- products, such as the bulk restore of a seller.
+DROP INDEX idx_products_deleted;
@@ -0,0 +1,17 @@
+-- Product and category change events, written in the same transaction as the change and published by the outbox relay.
+-- The sequence is not pooled, so the ids follow the order in which the events are inserted.
+CREATE SEQUENCE outbox_events_seq;
+
+create table outbox_events
+(
+    id           bigint       not null,
+    aggregate    varchar(16)  not null,
+    aggregate_id bigint       not null,
+    type         varchar(16)  not null,
+    created_at   timestamp(6) not null,
+    published_at timestamp(6),
+    primary key (id)
+);
+
+-- Events waiting to be published, in order
+CREATE INDEX idx_outbox_events_pending ON outbox_events (id) WHERE published_at IS NULL;
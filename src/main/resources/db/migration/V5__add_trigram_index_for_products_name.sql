@@ -0,0 +1,5 @@
+-- Extension for trigram matching
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Trigram index for case-insensitive substring search on products name
+CREATE INDEX idx_products_name_trgm ON products USING gin (name gin_trgm_ops);
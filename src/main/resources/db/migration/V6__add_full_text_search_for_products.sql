@@ -0,0 +1,9 @@
+-- Full-text search vector over products name (weight A) and description (weight B)
+ALTER TABLE products
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(description, '')), 'B')
+    ) STORED;
+
+-- Index for full-text search on products
+CREATE INDEX idx_products_search_vector ON products USING gin (search_vector);
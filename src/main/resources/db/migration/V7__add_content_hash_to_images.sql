@@ -0,0 +1,6 @@
+-- SHA-256 of the stored file, shared by the images that reference the same content-addressed file
+ALTER TABLE images
+    ADD COLUMN content_hash VARCHAR(64);
+
+-- Index for counting the references to a stored file
+CREATE INDEX idx_images_content_hash ON images (content_hash) WHERE deleted = false;
@@ -0,0 +1,3 @@
+-- Resized variants generated for the image (comma separated keys, e.g. thumb,small,medium)
+ALTER TABLE images
+    ADD COLUMN variants VARCHAR(64);
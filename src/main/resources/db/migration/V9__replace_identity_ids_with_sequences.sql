@@ -0,0 +1,17 @@
+-- Ids generated by sequences instead of identity columns, so Hibernate can batch inserts.
+-- The sequences are incremented by the allocation size of the entities (pooled-lo optimizer: each nextval reserves
+-- the next 50 ids) and start after the current ids.
+ALTER TABLE categories
+    ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE categories_seq INCREMENT BY 50 OWNED BY categories.id;
+SELECT setval('categories_seq', COALESCE((SELECT MAX(id) FROM categories), 0) + 1, false);
+
+ALTER TABLE images
+    ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE images_seq INCREMENT BY 50 OWNED BY images.id;
+SELECT setval('images_seq', COALESCE((SELECT MAX(id) FROM images), 0) + 1, false);
+
+ALTER TABLE products
+    ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE products_seq INCREMENT BY 50 OWNED BY products.id;
+SELECT setval('products_seq', COALESCE((SELECT MAX(id) FROM products), 0) + 1, false);
@@ -0,0 +1,71 @@
+package br.com.solutis.squad1.catalogservice.cache;
+
+import br.com.solutis.squad1.catalogservice.model.builder.CategoryBuilder;
+import br.com.solutis.squad1.catalogservice.model.entity.Category;
+import br.com.solutis.squad1.catalogservice.model.repository.CategoryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryRegistryTest {
+
+    @InjectMocks
+    private CategoryRegistry categoryRegistry;
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Test
+    @DisplayName("Loads the categories once and serves lookups from memory")
+    void find_ShouldServeLookupsFromSnapshot() {
+        when(categoryRepository.findAllByDeletedFalseOrderByIdAsc())
+                .thenReturn(List.of(createCategory(1L, "Roupas"), createCategory(2L, "Calçados")));
+
+        assertAll(
+                () -> assertEquals("Roupas", categoryRegistry.findById(1L).orElseThrow().getName()),
+                () -> assertEquals(2L, categoryRegistry.findByName("Calçados").orElseThrow().getId()),
+                () -> assertEquals(1, categoryRegistry.findAllById(List.of(2L, 3L)).size()),
+                () -> verify(categoryRepository, times(1)).findAllByDeletedFalseOrderByIdAsc()
+        );
+    }
+
+    @Test
+    @DisplayName("Publishes renamed, created and removed categories")
+    void putAndRemove_ShouldSwapSnapshot() {
+        when(categoryRepository.findAllByDeletedFalseOrderByIdAsc())
+                .thenReturn(List.of(createCategory(1L, "Roupas"), createCategory(2L, "Calçados")));
+        categoryRegistry.load();
+
+        categoryRegistry.put(createCategory(1L, "Vestuário"));
+        categoryRegistry.put(createCategory(3L, "Acessórios"));
+        categoryRegistry.remove(2L);
+
+        assertAll(
+                () -> assertTrue(categoryRegistry.findByName("Roupas").isEmpty()),
+                () -> assertEquals(1L, categoryRegistry.findByName("Vestuário").orElseThrow().getId()),
+                () -> assertEquals(Set.of(1L, 3L), categoryRegistry.findAllById(List.of(1L, 2L, 3L)).stream()
+                        .map(Category::getId)
+                        .collect(Collectors.toSet()))
+        );
+    }
+
+    private Category createCategory(Long id, String name) {
+        return new CategoryBuilder()
+                .id(id)
+                .name(name)
+                .deleted(false)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
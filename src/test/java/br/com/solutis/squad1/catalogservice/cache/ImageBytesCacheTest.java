@@ -0,0 +1,85 @@
+package br.com.solutis.squad1.catalogservice.cache;
+
+import br.com.solutis.squad1.catalogservice.storage.BlobStore;
+import br.com.solutis.squad1.catalogservice.storage.ImageStorage;
+import br.com.solutis.squad1.catalogservice.storage.LocalBlobStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageBytesCacheTest {
+    private static final String FILE_NAME = "1-2023-11-20-10-15-30.png";
+
+    @TempDir
+    private Path uploadDir;
+
+    private BlobStore.BlobInfo info;
+    private ImageBytesCache imageBytesCache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(uploadDir.resolve(FILE_NAME), "0123456789", StandardCharsets.UTF_8);
+        LocalBlobStore blobStore = new LocalBlobStore(uploadDir.toString());
+        ImageStorage imageStorage = new ImageStorage(blobStore, uploadDir.toString(), false, DataSize.ofMegabytes(5));
+        info = blobStore.stat(FILE_NAME).orElseThrow();
+        imageBytesCache = new ImageBytesCache(
+                imageStorage,
+                blobStore,
+                new SimpleMeterRegistry(),
+                DataSize.ofKilobytes(1),
+                DataSize.ofBytes(16),
+                Duration.ofMinutes(10)
+        );
+    }
+
+    @Test
+    @DisplayName("Loads the file off-heap only on its second request")
+    void get_ShouldLoadFileOnSecondRequest() {
+        Optional<ByteBuffer> first = imageBytesCache.get(FILE_NAME, info);
+        Optional<ByteBuffer> second = imageBytesCache.get(FILE_NAME, info);
+
+        assertAll(
+                () -> assertTrue(first.isEmpty()),
+                () -> assertTrue(second.isPresent()),
+                () -> assertTrue(second.get().isDirect()),
+                () -> assertEquals("0123456789", StandardCharsets.UTF_8.decode(second.get()).toString()),
+                () -> assertEquals(Optional.of(info), imageBytesCache.info(FILE_NAME)),
+                () -> assertEquals(10, imageBytesCache.bytes())
+        );
+    }
+
+    @Test
+    @DisplayName("Does not cache files larger than the maximum entry size")
+    void get_ShouldSkipLargeFiles() {
+        BlobStore.BlobInfo large = new BlobStore.BlobInfo(17, info.lastModified());
+        imageBytesCache.get(FILE_NAME, large);
+
+        assertTrue(imageBytesCache.get(FILE_NAME, large).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Drops the cached bytes when the image is invalidated")
+    void invalidate_ShouldDropCachedBytes() {
+        imageBytesCache.get(FILE_NAME, info);
+        imageBytesCache.get(FILE_NAME, info);
+
+        imageBytesCache.invalidate(FILE_NAME);
+
+        assertAll(
+                () -> assertTrue(imageBytesCache.info(FILE_NAME).isEmpty()),
+                () -> assertEquals(0, imageBytesCache.bytes())
+        );
+    }
+}
@@ -2,6 +2,9 @@ package br.com.solutis.squad1.catalogservice.controller;
 
 import br.com.solutis.squad1.catalogservice.dto.category.CategoryResponseDto;
 import br.com.solutis.squad1.catalogservice.dto.image.ImageResponseDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductBatchItemDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductBatchRequestDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductCursorPageDto;
 import br.com.solutis.squad1.catalogservice.dto.product.ProductPostDto;
 import br.com.solutis.squad1.catalogservice.dto.product.ProductPutDto;
 import br.com.solutis.squad1.catalogservice.dto.product.ProductResponseDto;
@@ -37,6 +40,9 @@ import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -81,6 +87,52 @@ class ProductControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("Returns products ranked by relevance when the q parameter is present")
+    void findAll_ShouldSearchWhenQueryIsPresent() throws Exception {
+        Page<ProductResponseDto> products = new PageImpl<>(List.of(createProductResponseDto()));
+
+        when(productService.search("camiseta azul", null, PageRequest.of(0, 20))).thenReturn(products);
+
+        mvc.perform(get("/api/v1/catalog/products").param("q", "camiseta azul"))
+                .andExpect(status().isOk());
+
+        verify(productService).search("camiseta azul", null, PageRequest.of(0, 20));
+    }
+
+    @Test
+    @DisplayName("Returns bad request when both q and name are present")
+    void findAll_ShouldReturnBadRequestWhenQueryAndName() throws Exception {
+        mvc.perform(get("/api/v1/catalog/products").param("q", "camiseta").param("name", "azul"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("Returns a cursor page of products when the after parameter is present")
+    void findAllAfter_ShouldReturnCursorPage() throws Exception {
+        ProductCursorPageDto page = new ProductCursorPageDto(List.of(createProductResponseDto()), 20, false, null);
+
+        when(productService.findAllAfter(null, null, "", 20)).thenReturn(page);
+
+        mvc.perform(get("/api/v1/catalog/products").param("after", ""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Uses the cursor page when both slice and after are present")
+    void findAllAfter_ShouldWinOverSlice() throws Exception {
+        ProductCursorPageDto page = new ProductCursorPageDto(List.of(createProductResponseDto()), 20, false, null);
+
+        when(productService.findAllAfter(null, null, "", 20)).thenReturn(page);
+
+        mvc.perform(get("/api/v1/catalog/products").param("slice", "true").param("after", ""))
+                .andExpect(status().isOk());
+
+        verify(productService).findAllAfter(null, null, "", 20);
+    }
+
     @Test
     @DisplayName("Returns products by seller id")
     void findBySellerId_ReturnsProductsBySellerId() throws Exception {
@@ -160,6 +212,33 @@ class ProductControllerTest {
         assertEquals(200, HttpStatus.OK.value());
     }
 
+    @Test
+    @DisplayName("Returns the batch of products requested by ids")
+    void findBatch_ShouldReturnOkStatus() throws Exception {
+        when(productService.findBatch(List.of(1L, 2L))).thenReturn(List.of(
+                ProductBatchItemDto.found(1L, "Product", new BigDecimal(10), 1L, null),
+                ProductBatchItemDto.missing(2L)
+        ));
+
+        mvc.perform(post("/api/v1/catalog/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(new ProductBatchRequestDto(List.of(1L, 2L)))))
+                .andExpect(status().isOk());
+
+        verify(productService).findBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Returns HTTP 400 Bad Request when the batch has no ids")
+    void findBatch_ShouldReturnBadRequestWhenIdsEmpty() throws Exception {
+        mvc.perform(post("/api/v1/catalog/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(new ProductBatchRequestDto(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).findBatch(anyList());
+    }
+
     @Test
     @DisplayName("Should return HTTP 201 Created when creating a new product")
     @WithMockUser(authorities = "product:create")
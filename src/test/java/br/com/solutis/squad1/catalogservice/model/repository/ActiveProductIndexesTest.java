@@ -0,0 +1,90 @@
+package br.com.solutis.squad1.catalogservice.model.repository;
+
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ActiveProductIndexesTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // As tabelas de teste são pequenas: sem isso o planejador prefere ler a tabela inteira
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+    }
+
+    @Test
+    @DisplayName("Counts the active products of a seller with an index-only scan")
+    void countBySeller_ShouldUseIndexOnlyScan() {
+        String plan = explain("SELECT count(*) FROM products p WHERE p.deleted = false AND p.seller_id = 1");
+
+        assertTrue(plan.contains("Index Only Scan using idx_products_active_seller_id_id"), plan);
+    }
+
+    @Test
+    @DisplayName("Pages the active products of a seller by cursor with an index-only scan")
+    void findBySellerAfter_ShouldUseIndexOnlyScan() {
+        String plan = explain(
+                "SELECT p.id FROM products p WHERE p.deleted = false AND p.seller_id = 1 AND p.id > 10 ORDER BY p.id LIMIT 20"
+        );
+
+        assertAll(
+                () -> assertTrue(plan.contains("Index Only Scan using idx_products_active_seller_id_id"), plan),
+                () -> assertFalse(plan.contains("Sort"), plan)
+        );
+    }
+
+    @Test
+    @DisplayName("Pages all the active products by id with the partial index")
+    void findAllAfter_ShouldUsePartialIndex() {
+        String plan = explain("SELECT p.* FROM products p WHERE p.deleted = false AND p.id > 10 ORDER BY p.id LIMIT 20");
+
+        assertAll(
+                () -> assertTrue(plan.contains("idx_products_active_id"), plan),
+                () -> assertFalse(plan.contains("Sort"), plan)
+        );
+    }
+
+    @Test
+    @DisplayName("Finds the products of a category with an index-only scan")
+    void findProductIdsByCategoryId_ShouldUseIndexOnlyScan() {
+        String plan = explain("SELECT product_id FROM products_categories WHERE category_id = 1");
+
+        assertTrue(plan.contains("Index Only Scan using idx_products_categories_category_id_product_id"), plan);
+    }
+
+    @Test
+    @DisplayName("Drops the indexes that duplicate primary keys or have low selectivity")
+    void indexes_ShouldNotBeRedundant() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename IN ('products', 'categories', 'images', 'products_categories')",
+                String.class
+        );
+
+        assertAll(
+                () -> assertFalse(indexes.contains("idx_products_id")),
+                () -> assertFalse(indexes.contains("idx_categories_id")),
+                () -> assertFalse(indexes.contains("idx_images_id")),
+                () -> assertFalse(indexes.contains("idx_products_deleted")),
+                () -> assertFalse(indexes.contains("idx_products_categories_product_id")),
+                () -> assertFalse(indexes.contains("idx_products_categories_category_id"))
+        );
+    }
+
+    private String explain(String query) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query, String.class));
+    }
+}
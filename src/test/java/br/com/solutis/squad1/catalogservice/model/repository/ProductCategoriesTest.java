@@ -0,0 +1,90 @@
+package br.com.solutis.squad1.catalogservice.model.repository;
+
+import br.com.solutis.squad1.catalogservice.model.entity.Category;
+import br.com.solutis.squad1.catalogservice.model.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ProductCategoriesTest {
+
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Category active;
+    private Category deleted;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        active = createCategory("Roupas");
+        deleted = createCategory("Calçados");
+        deleted.delete();
+        em.persist(active);
+        em.persist(deleted);
+
+        product = new Product();
+        product.setName("Camiseta");
+        product.setDescription("Algodão");
+        product.setPrice(BigDecimal.TEN);
+        product.setSellerId(1L);
+        product.setCategories(Set.of(active, deleted));
+        em.persist(product);
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("Leaves deleted categories out of the lazily loaded collection")
+    void categories_ShouldExcludeDeletedWhenLoadedLazily() {
+        Product found = productRepository.findByIdAndDeletedIsFalse(product.getId()).orElseThrow();
+
+        assertEquals(Set.of(active.getId()), categoryIds(found));
+    }
+
+    @Test
+    @DisplayName("Leaves deleted categories out of the fetch join without dropping the product")
+    void categories_ShouldExcludeDeletedWhenFetchJoined() {
+        List<Product> found = productRepository.findAllWithCategoriesAndImageByIdIn(List.of(product.getId()));
+
+        assertAll(
+                () -> assertEquals(1, found.size()),
+                () -> assertEquals(Set.of(active.getId()), categoryIds(found.get(0)))
+        );
+    }
+
+    @Test
+    @DisplayName("Keeps the links of deleted categories for the native queries")
+    void findCategoryIdsByProductId_ShouldIncludeDeletedCategories() {
+        assertEquals(
+                Set.of(active.getId(), deleted.getId()),
+                Set.copyOf(productRepository.findCategoryIdsByProductId(product.getId()))
+        );
+    }
+
+    private Category createCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+
+    private Set<Long> categoryIds(Product product) {
+        return product.getCategories().stream().map(Category::getId).collect(Collectors.toSet());
+    }
+}
@@ -10,8 +10,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
@@ -19,6 +17,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
@@ -31,31 +30,31 @@ class ProductRepositoryCustomTest {
 
     @Test
     @DisplayName("Finds all products with filter and deleted false")
-    void findAllWithFilterAndDeletedFalse_ShouldReturnPageOfProducts() {
+    void findAllWithFilterAndDeletedFalse_ShouldReturnListOfProducts() {
         Pageable pageable = PageRequest.of(0, 10);
         String productName = "Product";
         String categoryName = "Category";
 
-        when(productRepositoryCustom.findAllWithFilterAndDeletedFalse(productName, categoryName, pageable)).thenReturn(new PageImpl<>(Arrays.asList(createProduct(), createProduct())));
-        Page<Product> result = productRepositoryCustom.findAllWithFilterAndDeletedFalse(productName, categoryName, pageable);
+        when(productRepositoryCustom.findAllWithFilterAndDeletedFalse(productName, categoryName, pageable)).thenReturn(Arrays.asList(createProduct(), createProduct()));
+        List<Product> result = productRepositoryCustom.findAllWithFilterAndDeletedFalse(productName, categoryName, pageable);
 
         assertNotNull(result);
-        assertEquals(2, result.getTotalElements());
+        assertEquals(2, result.size());
     }
 
     @Test
     @DisplayName("Finds all products with filter by sellerId and deleted false")
-    void findAllWithFilterBySellerIdAndDeletedFalse_ShouldReturnPageOfProducts() {
+    void findAllWithFilterBySellerIdAndDeletedFalse_ShouldReturnListOfProducts() {
         Long sellerId = 1L;
         String productName = "Product";
         String categoryName = "Category";
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(productRepositoryCustom.findAllWithFilterBySellerIdAndDeletedFalse(sellerId, productName, categoryName, pageable)).thenReturn(new PageImpl<>(Arrays.asList(createProduct(), createProduct())));
-        Page<Product> result = productRepositoryCustom.findAllWithFilterBySellerIdAndDeletedFalse(sellerId, productName, categoryName, pageable);
+        when(productRepositoryCustom.findAllWithFilterBySellerIdAndDeletedFalse(sellerId, productName, categoryName, pageable)).thenReturn(Arrays.asList(createProduct(), createProduct()));
+        List<Product> result = productRepositoryCustom.findAllWithFilterBySellerIdAndDeletedFalse(sellerId, productName, categoryName, pageable);
 
         assertNotNull(result);
-        assertEquals(2, result.getTotalElements());
+        assertEquals(2, result.size());
     }
 
     private Product createProduct(){
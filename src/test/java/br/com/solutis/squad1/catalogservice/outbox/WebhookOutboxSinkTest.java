@@ -0,0 +1,88 @@
+package br.com.solutis.squad1.catalogservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookOutboxSinkTest {
+    private final AtomicInteger status = new AtomicInteger(204);
+    private final AtomicReference<String> body = new AtomicReference<>();
+
+    private HttpServer server;
+    private WebhookOutboxSink sink;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/events", exchange -> {
+            body.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        sink = new WebhookOutboxSink(
+                objectMapper,
+                URI.create("http://localhost:" + server.getAddress().getPort() + "/events"),
+                Duration.ofSeconds(5)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Posts the batch as a JSON array")
+    void publish_ShouldPostEvents() throws IOException {
+        sink.publish(List.of(new OutboxEvent(
+                1L,
+                OutboxEvent.Aggregate.PRODUCT,
+                7L,
+                OutboxEvent.Type.UPDATED,
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5)
+        )));
+
+        assertEquals(
+                "[{\"id\":1,\"aggregate\":\"PRODUCT\",\"aggregateId\":7,\"type\":\"UPDATED\",\"occurredAt\":\"2024-01-02T03:04:05\"}]",
+                body.get()
+        );
+    }
+
+    @Test
+    @DisplayName("Fails the batch when the webhook does not answer 2xx")
+    void publish_ShouldFailOnErrorStatus() {
+        status.set(503);
+
+        IOException exception = assertThrows(IOException.class, () -> sink.publish(List.of(new OutboxEvent(
+                1L,
+                OutboxEvent.Aggregate.CATEGORY,
+                3L,
+                OutboxEvent.Type.DELETED,
+                LocalDateTime.now()
+        ))));
+
+        assertTrue(exception.getMessage().contains("503"));
+    }
+}
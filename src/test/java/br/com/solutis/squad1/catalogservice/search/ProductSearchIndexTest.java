@@ -0,0 +1,132 @@
+package br.com.solutis.squad1.catalogservice.search;
+
+import br.com.solutis.squad1.catalogservice.model.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    @InjectMocks
+    private ProductSearchIndex productSearchIndex;
+    @Mock
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productSearchIndex, "enabled", true);
+    }
+
+    @Test
+    @DisplayName("Matches names by case-insensitive substring, like the database ILIKE filter")
+    void search_ShouldMatchSubstringLikeDatabase() {
+        productSearchIndex.index(1L, "Camisa Algodão", Set.of());
+        productSearchIndex.index(2L, "Camiseta", Set.of());
+        productSearchIndex.index(3L, "Bermuda", Set.of());
+
+        assertAll(
+                () -> assertEquals(List.of(1L), productSearchIndex.search("SA ALG", null, 0, 10).ids()),
+                () -> assertEquals(List.of(2L), productSearchIndex.search("set", null, 0, 10).ids()),
+                () -> assertEquals(List.of(1L, 2L), productSearchIndex.search("amis", null, 0, 10).ids()),
+                () -> assertEquals(List.of(1L), productSearchIndex.search("algodão", null, 0, 10).ids()),
+                () -> assertTrue(productSearchIndex.search("algodao", null, 0, 10).ids().isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Leaves names with ILIKE wildcards or shorter than a trigram to the database")
+    void canSearch_ShouldRejectWildcardsAndShortNames() {
+        ReflectionTestUtils.setField(productSearchIndex, "ready", true);
+
+        assertAll(
+                () -> assertTrue(productSearchIndex.canSearch(null)),
+                () -> assertTrue(productSearchIndex.canSearch("camisa")),
+                () -> assertFalse(productSearchIndex.canSearch("cami%")),
+                () -> assertFalse(productSearchIndex.canSearch("cami_a")),
+                () -> assertFalse(productSearchIndex.canSearch("mi")),
+                () -> assertFalse(productSearchIndex.canSearch(""))
+        );
+    }
+
+    @Test
+    @DisplayName("Finds products by name and category")
+    void search_ShouldFilterByNameAndCategory() {
+        productSearchIndex.index(1L, "Camiseta Azul", Set.of(10L));
+        productSearchIndex.index(2L, "Camiseta Vermelha", Set.of(20L));
+        productSearchIndex.index(3L, "Calça Azul", Set.of(10L));
+
+        ProductSearchIndex.SearchResult byName = productSearchIndex.search("camis", null, 0, 10);
+        ProductSearchIndex.SearchResult byNameAndCategory = productSearchIndex.search("azul", 10L, 0, 10);
+
+        assertAll(
+                () -> assertEquals(List.of(1L, 2L), byName.ids()),
+                () -> assertEquals(2, byName.total()),
+                () -> assertEquals(List.of(1L, 3L), byNameAndCategory.ids())
+        );
+    }
+
+    @Test
+    @DisplayName("Returns no products when a trigram or the category has no products")
+    void search_ShouldReturnEmptyWhenFilterMissing() {
+        productSearchIndex.index(1L, "Camiseta", Set.of(10L));
+
+        assertAll(
+                () -> assertEquals(0, productSearchIndex.search("bermuda", null, 0, 10).total()),
+                () -> assertEquals(0, productSearchIndex.search("camiseta", 20L, 0, 10).total()),
+                () -> assertEquals(List.of(1L), productSearchIndex.search(null, null, 0, 10).ids())
+        );
+    }
+
+    @Test
+    @DisplayName("Returns the requested page and the total of matches")
+    void search_ShouldReturnRequestedPage() {
+        for (long id = 1; id <= 5; id++) {
+            productSearchIndex.index(id, "Produto " + id, Set.of());
+        }
+
+        ProductSearchIndex.SearchResult result = productSearchIndex.search("produto", null, 2, 2);
+
+        assertAll(
+                () -> assertEquals(List.of(3L, 4L), result.ids()),
+                () -> assertEquals(5, result.total())
+        );
+    }
+
+    @Test
+    @DisplayName("Indexes product ids beyond the int range")
+    void search_ShouldSupportBigintIds() {
+        long id = 3_000_000_000L;
+        productSearchIndex.index(id, "Camiseta", Set.of(10L));
+
+        assertEquals(List.of(id), productSearchIndex.search("camiseta", 10L, 0, 10).ids());
+
+        productSearchIndex.remove(id);
+        assertTrue(productSearchIndex.search("camiseta", null, 0, 10).ids().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reindexes and removes products incrementally")
+    void indexAndRemove_ShouldUpdatePostings() {
+        productSearchIndex.index(1L, "Camiseta", Set.of(10L));
+        productSearchIndex.index(1L, "Bermuda", Set.of(20L));
+        productSearchIndex.index(2L, "Bermuda", Set.of(20L));
+        productSearchIndex.remove(2L);
+
+        assertAll(
+                () -> assertTrue(productSearchIndex.search("camiseta", null, 0, 10).ids().isEmpty()),
+                () -> assertTrue(productSearchIndex.search(null, 10L, 0, 10).ids().isEmpty()),
+                () -> assertEquals(List.of(1L), productSearchIndex.search("bermuda", 20L, 0, 10).ids())
+        );
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.solutis.squad1.catalogservice.service;
 
+import br.com.solutis.squad1.catalogservice.cache.CategoryRegistry;
+import br.com.solutis.squad1.catalogservice.cache.ProductDetailCache;
 import br.com.solutis.squad1.catalogservice.dto.category.CategoryDto;
 import br.com.solutis.squad1.catalogservice.dto.category.CategoryResponseDto;
 import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
@@ -7,6 +9,9 @@ import br.com.solutis.squad1.catalogservice.mapper.CategoryMapper;
 import br.com.solutis.squad1.catalogservice.model.builder.CategoryBuilder;
 import br.com.solutis.squad1.catalogservice.model.entity.Category;
 import br.com.solutis.squad1.catalogservice.model.repository.CategoryRepository;
+import br.com.solutis.squad1.catalogservice.model.repository.ProductRepository;
+import br.com.solutis.squad1.catalogservice.outbox.Outbox;
+import br.com.solutis.squad1.catalogservice.outbox.OutboxEvent;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -36,6 +41,14 @@ class CategoryServiceTest {
     private CategoryRepository categoryRepository;
     @Mock
     private CategoryMapper categoryMapper;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ProductDetailCache productDetailCache;
+    @Mock
+    private CategoryRegistry categoryRegistry;
+    @Mock
+    private Outbox outbox;
 
     @Test
     @DisplayName("Returns a list of categories")
@@ -115,7 +128,8 @@ class CategoryServiceTest {
                 () -> assertEquals(categoryResponseDto, response),
                 () -> verify(categoryMapper, times(1)).dtoToEntity(categoryDto),
                 () -> verify(categoryRepository, times(1)).save(category),
-                () -> verify(categoryMapper, times(1)).toResponseDto(category)
+                () -> verify(categoryMapper, times(1)).toResponseDto(category),
+                () -> verify(outbox).append(OutboxEvent.Aggregate.CATEGORY, category.getId(), OutboxEvent.Type.CREATED)
         );
     }
 
@@ -155,7 +169,8 @@ class CategoryServiceTest {
                 () -> assertEquals(updatedCategory.getName(), result.name()),
                 () -> verify(categoryRepository, times(1)).getReferenceById(categoryId),
                 () -> verify(categoryMapper, times(1)).dtoToEntity(categoryDto),
-                () -> verify(categoryMapper, times(1)).toResponseDto(updatedCategory)
+                () -> verify(categoryMapper, times(1)).toResponseDto(updatedCategory),
+                () -> verify(outbox).append(OutboxEvent.Aggregate.CATEGORY, categoryId, OutboxEvent.Type.UPDATED)
         );
     }
 
@@ -179,6 +194,7 @@ class CategoryServiceTest {
         categoryService.delete(id);
 
         verify(categoryRepository, times(1)).getReferenceById(id);
+        verify(outbox).append(OutboxEvent.Aggregate.CATEGORY, id, OutboxEvent.Type.DELETED);
     }
 
     private Category createCategory() {
@@ -0,0 +1,192 @@
+package br.com.solutis.squad1.catalogservice.service;
+
+import br.com.solutis.squad1.catalogservice.cache.ImageBytesCache;
+import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
+import br.com.solutis.squad1.catalogservice.model.entity.ImageVariant;
+import br.com.solutis.squad1.catalogservice.storage.ImageStorage;
+import br.com.solutis.squad1.catalogservice.storage.LocalBlobStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageDeliveryServiceTest {
+    private static final String FILE_NAME = "1-2023-11-20-10-15-30.png";
+
+    @TempDir
+    private Path uploadDir;
+
+    private LocalBlobStore blobStore;
+    private ImageStorage imageStorage;
+    private ImageDeliveryService imageDeliveryService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(uploadDir.resolve(FILE_NAME), "0123456789", StandardCharsets.UTF_8);
+        blobStore = new LocalBlobStore(uploadDir.toString());
+        imageStorage = new ImageStorage(blobStore, uploadDir.toString(), false, DataSize.ofMegabytes(5));
+        ImageBytesCache imageBytesCache = new ImageBytesCache(
+                imageStorage,
+                blobStore,
+                new SimpleMeterRegistry(),
+                DataSize.ofKilobytes(1),
+                DataSize.ofKilobytes(1),
+                Duration.ofMinutes(10)
+        );
+        imageDeliveryService = new ImageDeliveryService(
+                imageStorage, blobStore, imageBytesCache, false, Duration.ofMinutes(10)
+        );
+    }
+
+    @Test
+    @DisplayName("Serves the whole image with validators and immutable cache headers")
+    void serve_ShouldServeWholeImage() throws Exception {
+        MockHttpServletResponse response = serve(new MockHttpServletRequest("GET", "/images/" + FILE_NAME));
+
+        assertAll(
+                () -> assertEquals(200, response.getStatus()),
+                () -> assertEquals("0123456789", response.getContentAsString()),
+                () -> assertEquals("image/png", response.getContentType()),
+                () -> assertNotNull(response.getHeader(HttpHeaders.ETAG)),
+                () -> assertTrue(response.getHeader(HttpHeaders.CACHE_CONTROL).contains("immutable"))
+        );
+    }
+
+    @Test
+    @DisplayName("Returns 304 when the ETag matches")
+    void serve_ShouldReturnNotModifiedWhenEtagMatches() throws Exception {
+        String etag = serve(new MockHttpServletRequest("GET", "/images/" + FILE_NAME)).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/" + FILE_NAME);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = serve(request);
+
+        assertAll(
+                () -> assertEquals(304, response.getStatus()),
+                () -> assertEquals(0, response.getContentAsByteArray().length)
+        );
+    }
+
+    @Test
+    @DisplayName("Serves the requested byte range")
+    void serve_ShouldServeRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/" + FILE_NAME);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = serve(request);
+
+        assertAll(
+                () -> assertEquals(206, response.getStatus()),
+                () -> assertEquals("2345", response.getContentAsString()),
+                () -> assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE))
+        );
+    }
+
+    @Test
+    @DisplayName("Serves the whole image when If-Range has another ETag")
+    void serve_ShouldServeWholeImageWhenIfRangeEtagDoesNotMatch() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/" + FILE_NAME);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"outdated\"");
+        MockHttpServletResponse response = serve(request);
+
+        assertAll(
+                () -> assertEquals(200, response.getStatus()),
+                () -> assertEquals("0123456789", response.getContentAsString()),
+                () -> assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE))
+        );
+    }
+
+    @Test
+    @DisplayName("Returns 416 when the range starts after the end of the image")
+    void serve_ShouldRejectUnsatisfiableRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/" + FILE_NAME);
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-");
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(416, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Serves hot images and their ranges from the cache without reading the file")
+    void serve_ShouldServeHotImageFromCache() throws Exception {
+        serve(new MockHttpServletRequest("GET", "/images/" + FILE_NAME));
+        serve(new MockHttpServletRequest("GET", "/images/" + FILE_NAME));
+        Files.delete(uploadDir.resolve(FILE_NAME));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/" + FILE_NAME);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = serve(request);
+
+        assertAll(
+                () -> assertEquals(206, response.getStatus()),
+                () -> assertEquals("2345", response.getContentAsString()),
+                () -> assertEquals("0123456789",
+                        serve(new MockHttpServletRequest("GET", "/images/" + FILE_NAME)).getContentAsString())
+        );
+    }
+
+    @Test
+    @DisplayName("Serves the resized variant when it was generated")
+    void serve_ShouldServeGeneratedVariant() throws Exception {
+        Path variant = blobStore.localPath(imageStorage.variantKey(FILE_NAME, ImageVariant.THUMB)).orElseThrow();
+        Files.createDirectories(variant.getParent());
+        Files.writeString(variant, "thumb", StandardCharsets.UTF_8);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        imageDeliveryService.serve(
+                FILE_NAME, ImageVariant.THUMB, new MockHttpServletRequest("GET", "/images/" + FILE_NAME), response
+        );
+
+        assertAll(
+                () -> assertEquals("thumb", response.getContentAsString()),
+                () -> assertTrue(response.getHeader(HttpHeaders.CACHE_CONTROL).contains("immutable"))
+        );
+    }
+
+    @Test
+    @DisplayName("Serves the original without long caching while the variant is not generated")
+    void serve_ShouldFallBackToOriginalWhenVariantIsMissing() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        imageDeliveryService.serve(
+                FILE_NAME, ImageVariant.SMALL, new MockHttpServletRequest("GET", "/images/" + FILE_NAME), response
+        );
+
+        assertAll(
+                () -> assertEquals("0123456789", response.getContentAsString()),
+                () -> assertEquals("no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL))
+        );
+    }
+
+    @Test
+    @DisplayName("Throws EntityNotFoundException for missing files and paths outside the upload directory")
+    void serve_ShouldThrowEntityNotFoundException() {
+        assertAll(
+                () -> assertThrows(EntityNotFoundException.class,
+                        () -> serve(new MockHttpServletRequest("GET", "/images/missing.png"), "missing.png")),
+                () -> assertThrows(EntityNotFoundException.class,
+                        () -> serve(new MockHttpServletRequest("GET", "/images/x"), "../" + FILE_NAME))
+        );
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        return serve(request, FILE_NAME);
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request, String name) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        imageDeliveryService.serve(name, request, response);
+        return response;
+    }
+}
@@ -1,11 +1,13 @@
 package br.com.solutis.squad1.catalogservice.service;
 
+import br.com.solutis.squad1.catalogservice.cache.ImageBytesCache;
 import br.com.solutis.squad1.catalogservice.dto.image.ImageResponseDto;
 import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
 import br.com.solutis.squad1.catalogservice.mapper.ImageMapper;
 import br.com.solutis.squad1.catalogservice.model.builder.ImageBuilder;
 import br.com.solutis.squad1.catalogservice.model.entity.Image;
 import br.com.solutis.squad1.catalogservice.model.repository.ImageRepository;
+import br.com.solutis.squad1.catalogservice.storage.ImageStorage;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,11 +15,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -32,6 +36,12 @@ class ImageServiceTest {
     private ImageRepository imageRepository;
     @Mock
     private ImageMapper mapper;
+    @Mock
+    private ImageStorage imageStorage;
+    @Mock
+    private ImageBytesCache imageBytesCache;
+    @Mock
+    private PlatformTransactionManager transactionManager;
     @Value("${upload.dir}")
     private String uploadDir;
 
@@ -70,7 +80,36 @@ class ImageServiceTest {
     }
 
     @Test
-    void delete(){
+    @DisplayName("Deletes the shared file once its last image is deleted")
+    void delete_ShouldDeleteUnreferencedSharedFile() {
+        Image image = createSharedImage();
+        mockDelete(image);
+        when(imageRepository.countByContentHashAndDeletedIsFalse("hash")).thenReturn(0L, 0L);
+
+        imageService.delete(1L);
+
+        assertAll(
+                () -> verify(imageRepository, times(2)).lockContentHash("hash"),
+                () -> verify(imageStorage).delete(image.getArchiveName()),
+                () -> verify(imageBytesCache).invalidate(image.getArchiveName())
+        );
+    }
+
+    @Test
+    @DisplayName("Keeps the shared file when an upload reuses it between the delete and its commit")
+    void delete_ShouldKeepSharedFileReusedByConcurrentUpload() {
+        Image image = createSharedImage();
+        mockDelete(image);
+        // Sem referências na transação da remoção; depois do commit um upload do mesmo conteúdo já o referencia
+        when(imageRepository.countByContentHashAndDeletedIsFalse("hash")).thenReturn(0L, 1L);
+
+        imageService.delete(1L);
+
+        assertAll(
+                () -> verify(imageRepository, times(2)).lockContentHash("hash"),
+                () -> verify(imageStorage, never()).delete(any()),
+                () -> verify(imageBytesCache, never()).invalidate(any())
+        );
     }
 
     @Test
@@ -89,6 +128,20 @@ class ImageServiceTest {
         assertThrows(RuntimeException.class, () -> imageService.load(fileName));
     }
 
+    private void mockDelete(Image image) {
+        ImageResponseDto imageResponseDto = createImageResponseDto();
+        when(imageRepository.findByProductIdAndDeletedIsFalse(1L)).thenReturn(Optional.of(image));
+        when(mapper.toResponseDto(image)).thenReturn(imageResponseDto);
+        when(imageRepository.getReferenceById(imageResponseDto.id())).thenReturn(image);
+    }
+
+    private Image createSharedImage() {
+        Image image = createImage();
+        image.setArchiveName("hash.png");
+        image.setContentHash("hash");
+        return image;
+    }
+
     private Image createImage() {
         ImageBuilder builder = new ImageBuilder();
 
@@ -0,0 +1,126 @@
+package br.com.solutis.squad1.catalogservice.service;
+
+import br.com.solutis.squad1.catalogservice.dto.product.ProductBulkJobDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductBulkRequestDto;
+import br.com.solutis.squad1.catalogservice.exception.BadRequestException;
+import br.com.solutis.squad1.catalogservice.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductBulkServiceTest {
+    private ProductService productService;
+    private ProductBulkService productBulkService;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        productBulkService = new ProductBulkService(
+                productService,
+                new SimpleMeterRegistry(),
+                1,
+                1,
+                2,
+                3,
+                Duration.ofMinutes(10)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        productBulkService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deletes all products of a seller with a single call")
+    void run_ShouldDeleteBySeller() {
+        when(productService.deleteAllBySellerId(7L)).thenReturn(42);
+
+        ProductBulkJobDto job = run(ProductBulkJobDto.Operation.DELETE, 7L, null);
+
+        assertAll(
+                () -> assertEquals(ProductBulkJobDto.Status.COMPLETED, job.status()),
+                () -> assertEquals(7L, job.sellerId()),
+                () -> assertNull(job.totalProducts()),
+                () -> assertEquals(42, job.affectedProducts()),
+                () -> verify(productService).deleteAllBySellerId(7L),
+                () -> verifyNoMoreInteractions(productService)
+        );
+    }
+
+    @Test
+    @DisplayName("Restores a set of ids in chunks and reports the progress")
+    void run_ShouldRestoreIdsInChunks() {
+        when(productService.restoreAllById(List.of(1L, 2L))).thenReturn(1);
+        when(productService.restoreAllById(List.of(3L))).thenReturn(1);
+
+        ProductBulkJobDto job = run(ProductBulkJobDto.Operation.RESTORE, null, List.of(1L, 2L, 3L));
+
+        assertAll(
+                () -> assertEquals(ProductBulkJobDto.Status.COMPLETED, job.status()),
+                () -> assertEquals(3L, job.totalProducts()),
+                () -> assertEquals(3, job.processedProducts()),
+                () -> assertEquals(2, job.affectedProducts()),
+                () -> verify(productService).restoreAllById(List.of(1L, 2L)),
+                () -> verify(productService).restoreAllById(List.of(3L))
+        );
+    }
+
+    @Test
+    @DisplayName("Keeps the chunks already deleted when a chunk fails")
+    void run_ShouldFailKeepingProcessedChunks() {
+        when(productService.deleteAllById(List.of(1L, 2L))).thenReturn(2);
+        when(productService.deleteAllById(List.of(3L))).thenThrow(new RuntimeException("connection lost"));
+
+        ProductBulkJobDto job = run(ProductBulkJobDto.Operation.DELETE, null, List.of(1L, 2L, 3L));
+
+        assertAll(
+                () -> assertEquals(ProductBulkJobDto.Status.FAILED, job.status()),
+                () -> assertEquals("connection lost", job.message()),
+                () -> assertEquals(2, job.processedProducts()),
+                () -> assertEquals(2, job.affectedProducts())
+        );
+    }
+
+    @Test
+    @DisplayName("Rejects requests without exactly one target or with too many ids")
+    void start_ShouldRejectInvalidTargets() {
+        assertAll(
+                () -> assertThrows(BadRequestException.class, () -> productBulkService.start(
+                        ProductBulkJobDto.Operation.DELETE, new ProductBulkRequestDto(null, null))),
+                () -> assertThrows(BadRequestException.class, () -> productBulkService.start(
+                        ProductBulkJobDto.Operation.DELETE, new ProductBulkRequestDto(7L, List.of(1L)))),
+                () -> assertThrows(BadRequestException.class, () -> productBulkService.start(
+                        ProductBulkJobDto.Operation.DELETE, new ProductBulkRequestDto(null, List.of()))),
+                () -> assertThrows(BadRequestException.class, () -> productBulkService.start(
+                        ProductBulkJobDto.Operation.DELETE, new ProductBulkRequestDto(null, List.of(1L, 2L, 3L, 4L)))),
+                () -> verifyNoInteractions(productService)
+        );
+    }
+
+    @Test
+    @DisplayName("Rejects the request with 503 when no worker can take it")
+    void start_ShouldRejectWhenExecutorUnavailable() {
+        productBulkService.shutdown();
+
+        assertAll(
+                () -> assertThrows(ServiceUnavailableException.class, () -> productBulkService.start(
+                        ProductBulkJobDto.Operation.DELETE, new ProductBulkRequestDto(7L, null))),
+                () -> verifyNoInteractions(productService)
+        );
+    }
+
+    private ProductBulkJobDto run(ProductBulkJobDto.Operation operation, Long sellerId, List<Long> ids) {
+        ProductBulkJob job = new ProductBulkJob(operation, sellerId, ids);
+        productBulkService.run(job);
+        return job.toDto();
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.solutis.squad1.catalogservice.service;
+
+import br.com.solutis.squad1.catalogservice.cache.CategoryRegistry;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductImportJobDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductPostDto;
+import br.com.solutis.squad1.catalogservice.exception.ServiceUnavailableException;
+import br.com.solutis.squad1.catalogservice.importer.ProductImportFormat;
+import br.com.solutis.squad1.catalogservice.importer.ProductImportJob;
+import br.com.solutis.squad1.catalogservice.model.entity.Category;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ProductImportServiceTest {
+    @TempDir
+    private Path tempDir;
+
+    private ProductService productService;
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        CategoryRegistry categoryRegistry = mock(CategoryRegistry.class);
+        when(categoryRegistry.findById(anyLong())).thenReturn(Optional.empty());
+        when(categoryRegistry.findById(1L)).thenReturn(Optional.of(new Category()));
+        when(categoryRegistry.findById(2L)).thenReturn(Optional.of(new Category()));
+
+        productImportService = new ProductImportService(
+                productService,
+                categoryRegistry,
+                new ObjectMapper(),
+                new SimpleMeterRegistry(),
+                1,
+                1,
+                2,
+                DataSize.ofKilobytes(1),
+                10,
+                Duration.ofMinutes(10)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        productImportService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Imports the valid CSV rows in chunks and reports the rejected ones by line")
+    void run_ShouldImportCsvInChunks() throws Exception {
+        Path file = write("""
+                name,description,price,sellerId,categoryIds
+                Camiseta,"Algodão, manga curta",49.90,7,1|2
+                Tênis,Corrida,-1,7,1
+                Boné,"Aba ""reta""\",29.90,7,1
+
+                Meia,Cano alto,9.90,7,3
+                Bermuda,Jeans,abc,7,1
+                Jaqueta,Couro,299.00,7,2
+                """);
+
+        ProductImportJobDto job = run(ProductImportFormat.CSV, file);
+
+        assertAll(
+                () -> assertEquals(ProductImportJobDto.Status.COMPLETED, job.status()),
+                () -> assertEquals(6, job.processedRows()),
+                () -> assertEquals(3, job.importedRows()),
+                () -> assertEquals(List.of(
+                        new ProductImportJobDto.RowError(3, "price must be at least 0"),
+                        new ProductImportJobDto.RowError(6, "Category not found: [3]"),
+                        new ProductImportJobDto.RowError(7, "Invalid price: abc")
+                ), job.errors()),
+                () -> verify(productService).saveAll(List.of(
+                        new ProductPostDto("Camiseta", "Algodão, manga curta", new BigDecimal("49.90"), 7L, List.of(1L, 2L)),
+                        new ProductPostDto("Boné", "Aba \"reta\"", new BigDecimal("29.90"), 7L, List.of(1L))
+                )),
+                () -> verify(productService, times(2)).saveAll(anyList()),
+                () -> assertFalse(Files.exists(file))
+        );
+    }
+
+    @Test
+    @DisplayName("Imports NDJSON rows and rejects only the rows of a failed chunk that cannot be saved")
+    void run_ShouldIsolateRowsOfFailedChunk() throws Exception {
+        ProductPostDto valid = new ProductPostDto("Camiseta", "Algodão", BigDecimal.TEN, 7L, List.of(1L));
+        ProductPostDto invalid = new ProductPostDto("Tênis", "Corrida", BigDecimal.ONE, 7L, List.of(2L));
+        when(productService.saveAll(List.of(valid, invalid))).thenThrow(new RuntimeException("constraint violation"));
+        when(productService.saveAll(List.of(invalid))).thenThrow(new RuntimeException("constraint violation"));
+        Path file = write("""
+                {"name":"Camiseta","description":"Algodão","price":10,"sellerId":7,"categoryIds":[1]}
+                {"name":"Tênis","description":"Corrida","price":1,"sellerId":7,"categoryIds":[2]}
+                {"name":
+                """);
+
+        ProductImportJobDto job = run(ProductImportFormat.NDJSON, file);
+
+        assertAll(
+                () -> assertEquals(ProductImportJobDto.Status.COMPLETED, job.status()),
+                () -> assertEquals(1, job.importedRows()),
+                () -> assertEquals(2, job.failedRows()),
+                () -> assertEquals(2, job.errors().get(0).line()),
+                () -> assertEquals("Could not save product: constraint violation", job.errors().get(0).message()),
+                () -> assertEquals(3, job.errors().get(1).line()),
+                () -> verify(productService).saveAll(List.of(valid))
+        );
+    }
+
+    @Test
+    @DisplayName("Fails the job when the CSV header misses required columns")
+    void run_ShouldFailWithoutRequiredColumns() throws Exception {
+        ProductImportJobDto job = run(ProductImportFormat.CSV, write("name,price\nCamiseta,10\n"));
+
+        assertAll(
+                () -> assertEquals(ProductImportJobDto.Status.FAILED, job.status()),
+                () -> assertTrue(job.message().contains("description")),
+                () -> verify(productService, never()).saveAll(anyList())
+        );
+    }
+
+    @Test
+    @DisplayName("Rejects the import instead of running it on the request thread when it cannot be queued")
+    void start_ShouldRejectWhenExecutorUnavailable() {
+        productImportService.shutdown();
+
+        assertAll(
+                () -> assertThrows(ServiceUnavailableException.class, () -> productImportService.start(
+                        ProductImportFormat.NDJSON,
+                        StandardCharsets.UTF_8,
+                        new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8))
+                )),
+                () -> verifyNoInteractions(productService)
+        );
+    }
+
+    private ProductImportJobDto run(ProductImportFormat format, Path file) {
+        ProductImportJob job = new ProductImportJob(format, 10);
+        productImportService.run(job, file, StandardCharsets.UTF_8);
+        return job.toDto();
+    }
+
+    private Path write(String content) throws Exception {
+        return Files.writeString(tempDir.resolve("import"), content, StandardCharsets.UTF_8);
+    }
+}
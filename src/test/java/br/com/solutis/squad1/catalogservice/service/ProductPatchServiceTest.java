@@ -0,0 +1,125 @@
+package br.com.solutis.squad1.catalogservice.service;
+
+import br.com.solutis.squad1.catalogservice.dto.product.ProductPatchDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductPatchResultDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ProductPatchServiceTest {
+    private ProductService productService;
+    private ProductPatchService productPatchService;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        productPatchService = new ProductPatchService(productService, new ObjectMapper(), 2);
+    }
+
+    @Test
+    @DisplayName("Applies a JSON array of changes in chunks and reports each change in request order")
+    void patch_ShouldApplyChangesInChunks() {
+        ProductPatchDto first = new ProductPatchDto(1L, new BigDecimal("9.90"), null, null);
+        ProductPatchDto second = new ProductPatchDto(2L, null, "Camiseta", null);
+        ProductPatchDto third = new ProductPatchDto(3L, null, null, "Algodão");
+        when(productService.patchAll(List.of(first, second))).thenReturn(Set.of(1L, 2L));
+        when(productService.patchAll(List.of(third))).thenReturn(Set.of());
+
+        List<ProductPatchResultDto> results = patch("""
+                [
+                  {"id":1,"price":9.90},
+                  {"id":4,"price":-1},
+                  {"id":2,"name":"Camiseta"},
+                  {"price":1},
+                  {"id":3,"description":"Algodão"}
+                ]
+                """);
+
+        assertAll(
+                () -> assertEquals(List.of(
+                        ProductPatchResultDto.updated(1L),
+                        ProductPatchResultDto.invalid(4L, "price must be at least 0"),
+                        ProductPatchResultDto.updated(2L),
+                        ProductPatchResultDto.invalid(null, "id is required"),
+                        ProductPatchResultDto.missing(3L)
+                ), results),
+                () -> verify(productService, times(2)).patchAll(anyList())
+        );
+    }
+
+    @Test
+    @DisplayName("Applies the pending chunk before a repeated id, so the last NDJSON change wins")
+    void patch_ShouldApplyRepeatedIdInNextChunk() {
+        ProductPatchDto first = new ProductPatchDto(1L, BigDecimal.ONE, null, null);
+        ProductPatchDto last = new ProductPatchDto(1L, BigDecimal.TEN, null, null);
+        when(productService.patchAll(anyList())).thenReturn(Set.of(1L));
+
+        List<ProductPatchResultDto> results = patch("""
+                {"id":1,"price":1}
+                {"id":1,"price":10}
+                """);
+
+        assertAll(
+                () -> assertEquals(List.of(ProductPatchResultDto.updated(1L), ProductPatchResultDto.updated(1L)), results),
+                () -> verify(productService).patchAll(List.of(first)),
+                () -> verify(productService).patchAll(List.of(last))
+        );
+    }
+
+    @Test
+    @DisplayName("Rejects only the changes of a failed chunk that cannot be applied")
+    void patch_ShouldIsolateChangesOfFailedChunk() {
+        ProductPatchDto valid = new ProductPatchDto(1L, BigDecimal.ONE, null, null);
+        ProductPatchDto invalid = new ProductPatchDto(2L, new BigDecimal("1e20"), null, null);
+        when(productService.patchAll(List.of(valid, invalid))).thenThrow(new RuntimeException("numeric field overflow"));
+        when(productService.patchAll(List.of(invalid))).thenThrow(new RuntimeException("numeric field overflow"));
+        when(productService.patchAll(List.of(valid))).thenReturn(Set.of(1L));
+
+        List<ProductPatchResultDto> results = patch("""
+                {"id":1,"price":1}
+                {"id":2,"price":1e20}
+                """);
+
+        assertEquals(List.of(
+                ProductPatchResultDto.updated(1L),
+                ProductPatchResultDto.invalid(2L, "Could not update product: numeric field overflow")
+        ), results);
+    }
+
+    @Test
+    @DisplayName("Keeps the changes before a malformed body and stops reading there")
+    void patch_ShouldStopAtMalformedBody() {
+        ProductPatchDto valid = new ProductPatchDto(1L, BigDecimal.ONE, null, null);
+        when(productService.patchAll(List.of(valid))).thenReturn(Set.of(1L));
+
+        List<ProductPatchResultDto> results = patch("""
+                {"id":1,"price":1}
+                {"id":2,"price":"abc"}
+                {"id":
+                """);
+
+        assertAll(
+                () -> assertEquals(3, results.size()),
+                () -> assertEquals(ProductPatchResultDto.updated(1L), results.get(0)),
+                () -> assertEquals(ProductPatchResultDto.Status.INVALID, results.get(1).status()),
+                () -> assertTrue(results.get(1).message().startsWith("Invalid change #2")),
+                () -> assertEquals(ProductPatchResultDto.Status.INVALID, results.get(2).status()),
+                () -> assertTrue(results.get(2).message().startsWith("Invalid change #3"))
+        );
+    }
+
+    private List<ProductPatchResultDto> patch(String body) {
+        return productPatchService.patch(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -1,10 +1,17 @@
 package br.com.solutis.squad1.catalogservice.service;
 
+import br.com.solutis.squad1.catalogservice.cache.CategoryRegistry;
+import br.com.solutis.squad1.catalogservice.cache.ProductCountCache;
+import br.com.solutis.squad1.catalogservice.cache.ProductDetailCache;
 import br.com.solutis.squad1.catalogservice.dto.category.CategoryResponseDto;
 import br.com.solutis.squad1.catalogservice.dto.image.ImageResponseDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductBatchItemDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductCursorPageDto;
+import br.com.solutis.squad1.catalogservice.dto.product.ProductPatchDto;
 import br.com.solutis.squad1.catalogservice.dto.product.ProductPostDto;
 import br.com.solutis.squad1.catalogservice.dto.product.ProductPutDto;
 import br.com.solutis.squad1.catalogservice.dto.product.ProductResponseDto;
+import br.com.solutis.squad1.catalogservice.exception.BadRequestException;
 import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
 import br.com.solutis.squad1.catalogservice.mapper.CategoryMapper;
 import br.com.solutis.squad1.catalogservice.mapper.ProductMapper;
@@ -14,9 +21,12 @@ import br.com.solutis.squad1.catalogservice.model.builder.ProductBuilder;
 import br.com.solutis.squad1.catalogservice.model.entity.Category;
 import br.com.solutis.squad1.catalogservice.model.entity.Image;
 import br.com.solutis.squad1.catalogservice.model.entity.Product;
-import br.com.solutis.squad1.catalogservice.model.repository.CategoryRepository;
 import br.com.solutis.squad1.catalogservice.model.repository.ProductRepository;
 import br.com.solutis.squad1.catalogservice.model.repository.ProductRepositoryCustom;
+import br.com.solutis.squad1.catalogservice.outbox.Outbox;
+import br.com.solutis.squad1.catalogservice.outbox.OutboxEvent;
+import br.com.solutis.squad1.catalogservice.search.ProductSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,20 +35,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
 
@@ -51,11 +67,21 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
     @Mock
-    private CategoryRepository categoryRepository;
+    private CategoryRegistry categoryRegistry;
+    @Mock
+    private Outbox outbox;
     @Mock
     private ProductMapper productMapper;
     @Mock
     private CategoryMapper categoryMapper;
+    @Mock
+    private ProductCountCache productCountCache;
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+    @Mock
+    private ProductHydrator productHydrator;
+    @Spy
+    private ProductDetailCache productDetailCache = new ProductDetailCache(new SimpleMeterRegistry(), Duration.ofMinutes(1), 100);
 
     @BeforeEach
     void setUp() {
@@ -70,19 +96,15 @@ class ProductServiceTest {
         Product product = createProduct();
         String category = "Category name";
         List<Product> productList = List.of(product);
-        Page<Product> productPage = new PageImpl<>(productList);
 
-        when(productRepositoryCustom.findAllWithFilterAndDeletedFalse(product.getName(), category, pageable)).thenReturn(productPage);
-        when(productRepository.findProductsCategories(productPage.getContent())).thenReturn(productList);
-        when(productRepository.findProductsImage(productPage.getContent())).thenReturn(productList);
+        when(productRepositoryCustom.findAllWithFilterAndDeletedFalse(product.getName(), category, pageable)).thenReturn(productList);
         when(productMapper.toResponseDto(product)).thenReturn(createProductResponseDto());
 
         Page<ProductResponseDto> result = productService.findAll(product.getName(), category, pageable);
 
         assertAll(
                 () -> assertEquals(productList.size(), result.getContent().size()),
-                () -> verify(productRepository).findProductsCategories(productList),
-                () -> verify(productRepository).findProductsImage(productList),
+                () -> verify(productHydrator).hydrate(productList),
                 () -> verify(productMapper, times(productList.size())).toResponseDto(any())
         );
     }
@@ -94,16 +116,32 @@ class ProductServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
         Product product = createProduct();
         String category = "Category name";
-        Page<Product> emptyProductPage = new PageImpl<>(Collections.emptyList());
 
         when(productRepositoryCustom.findAllWithFilterAndDeletedFalse(product.getName(), category, pageable))
-                .thenReturn(emptyProductPage);
+                .thenReturn(Collections.emptyList());
 
         Page<ProductResponseDto> result = productService.findAll(product.getName(), category, pageable);
 
         assertTrue(result.getContent().isEmpty());
     }
 
+    @Test
+    @DisplayName("Counts the total through the count cache when the page is full")
+    void findAll_ShouldCountThroughCache() {
+        Pageable pageable = PageRequest.of(0, 1);
+        Product product = createProduct();
+
+        when(productRepositoryCustom.findAllWithFilterAndDeletedFalse(null, null, pageable)).thenReturn(List.of(product));
+        when(productCountCache.get(isNull(), isNull(), isNull(), isNull(), any())).thenReturn(5L);
+
+        Page<ProductResponseDto> result = productService.findAll(null, null, pageable);
+
+        assertAll(
+                () -> assertEquals(5, result.getTotalElements()),
+                () -> verify(productRepositoryCustom, never()).countWithFilterAndDeletedFalse(any(), any(), any())
+        );
+    }
+
 
     @Test
     @DisplayName("Returns a list of products by seller ID")
@@ -113,19 +151,15 @@ class ProductServiceTest {
         Long sellerId = 1L;
         Product product = createProduct();
         List<Product> productList = List.of(product);
-        Page<Product> productPage = new PageImpl<>(productList);
 
-        when(productRepositoryCustom.findAllWithFilterBySellerIdAndDeletedFalse(sellerId, product.getName(), null, pageable)).thenReturn(productPage);
-        when(productRepository.findProductsCategories(productPage.getContent())).thenReturn(productList);
-        when(productRepository.findProductsImage(productPage.getContent())).thenReturn(productList);
+        when(productRepositoryCustom.findAllWithFilterBySellerIdAndDeletedFalse(sellerId, product.getName(), null, pageable)).thenReturn(productList);
         when(productMapper.toResponseDto(product)).thenReturn(createProductResponseDto());
 
         Page<ProductResponseDto> result = productService.findBySellerId(sellerId, product.getName(), null, pageable);
 
         assertAll(
                 () -> assertEquals(productList.size(), result.getContent().size()),
-                () -> verify(productRepository).findProductsCategories(productList),
-                () -> verify(productRepository).findProductsImage(productList),
+                () -> verify(productHydrator).hydrate(productList),
                 () -> verify(productMapper, times(productList.size())).toResponseDto(any())
         );
     }
@@ -140,11 +174,8 @@ class ProductServiceTest {
         Category category = createCategory();
         product.setCategories(Set.of(category));
         List<Product> productList = List.of(product);
-        Page<Product> productPage = new PageImpl<>(productList);
 
-        when(productRepositoryCustom.findAllWithFilterBySellerIdAndDeletedFalse(sellerId, product.getName(), category.getName(), pageable)).thenReturn(productPage);
-        when(productRepository.findProductsCategories(productPage.getContent())).thenReturn(productList);
-        when(productRepository.findProductsImage(productPage.getContent())).thenReturn(productList);
+        when(productRepositoryCustom.findAllWithFilterBySellerIdAndDeletedFalse(sellerId, product.getName(), category.getName(), pageable)).thenReturn(productList);
         when(productMapper.toResponseDto(product)).thenReturn(createProductResponseDto());
 
         Page<ProductResponseDto> result = productService.findBySellerId(sellerId, product.getName(), category.getName(), pageable);
@@ -152,8 +183,7 @@ class ProductServiceTest {
         assertAll(
                 () -> assertEquals(productList.size(), result.getContent().size()),
                 () -> assertTrue(productList.get(0).getCategories().contains(category)),
-                () -> verify(productRepository).findProductsCategories(productList),
-                () -> verify(productRepository).findProductsImage(productList),
+                () -> verify(productHydrator).hydrate(productList),
                 () -> verify(productMapper, times(productList.size())).toResponseDto(any())
         );
     }
@@ -165,7 +195,7 @@ class ProductServiceTest {
         Long sellerId = 1L;
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(productRepositoryCustom.findAllWithFilterBySellerIdAndDeletedFalse(sellerId, null, null, pageable)).thenReturn(new PageImpl<>(Collections.emptyList()));
+        when(productRepositoryCustom.findAllWithFilterBySellerIdAndDeletedFalse(sellerId, null, null, pageable)).thenReturn(Collections.emptyList());
         Page<ProductResponseDto> result = productService.findBySellerId(sellerId, null, null, pageable);
 
         assertAll(
@@ -174,6 +204,94 @@ class ProductServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("Returns the page of products from the search index when it is ready")
+    void findAll_ShouldUseSearchIndexWhenReady() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Product product = createProduct();
+        List<Product> productList = List.of(product);
+
+        when(productSearchIndex.canSearch(product.getName())).thenReturn(true);
+        when(productSearchIndex.search(product.getName(), null, 0, 10))
+                .thenReturn(new ProductSearchIndex.SearchResult(List.of(product.getId()), 15));
+        when(productHydrator.findAllByIds(List.of(product.getId()))).thenReturn(productList);
+        when(productMapper.toResponseDto(product)).thenReturn(createProductResponseDto());
+
+        Page<ProductResponseDto> result = productService.findAll(product.getName(), null, pageable);
+
+        assertAll(
+                () -> assertEquals(1, result.getContent().size()),
+                () -> assertEquals(15, result.getTotalElements()),
+                () -> verify(productRepositoryCustom, never()).findAllWithFilterAndDeletedFalse(any(), any(), any())
+        );
+    }
+
+    @Test
+    @DisplayName("Returns a slice of products without counting the total")
+    void findAllSlice_ShouldReturnSliceOfProducts() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Product product = createProduct();
+        List<Product> productList = List.of(product);
+        Slice<Product> productSlice = new SliceImpl<>(productList, pageable, false);
+
+        when(productRepositoryCustom.findAllSliceWithFilterAndDeletedFalse(null, null, pageable)).thenReturn(productSlice);
+        when(productMapper.toResponseDto(product)).thenReturn(createProductResponseDto());
+
+        Slice<ProductResponseDto> result = productService.findAllSlice(null, null, pageable);
+
+        assertAll(
+                () -> assertEquals(1, result.getContent().size()),
+                () -> assertFalse(result.hasNext()),
+                () -> verify(productRepositoryCustom, never()).findAllWithFilterAndDeletedFalse(any(), any(), any())
+        );
+    }
+
+    @Test
+    @DisplayName("Returns the next products after the cursor with the cursor of the last one")
+    void findAllAfter_ShouldReturnNextCursorWhenThereAreMoreProducts() {
+        Product first = createProduct();
+        Product second = createProduct();
+        second.setId(2L);
+        List<Product> productList = List.of(first, second);
+
+        when(productRepositoryCustom.findAllWithFilterAndDeletedFalseAfter(null, null, null, 2)).thenReturn(productList);
+        when(productMapper.toResponseDto(any())).thenReturn(createProductResponseDto());
+
+        ProductCursorPageDto result = productService.findAllAfter(null, null, "", 1);
+
+        assertAll(
+                () -> assertEquals(1, result.content().size()),
+                () -> assertTrue(result.hasNext()),
+                () -> assertEquals(1L, ProductCursorPageDto.decodeCursor(result.nextCursor())),
+                () -> verify(productHydrator).hydrate(List.of(first))
+        );
+    }
+
+    @Test
+    @DisplayName("Returns the last products by seller ID without a next cursor")
+    void findBySellerIdAfter_ShouldReturnNoCursorOnLastPage() {
+        Long sellerId = 1L;
+        Product product = createProduct();
+        String after = ProductCursorPageDto.encodeCursor(0L);
+
+        when(productRepositoryCustom.findAllWithFilterBySellerIdAndDeletedFalseAfter(sellerId, null, null, 0L, 11)).thenReturn(List.of(product));
+        when(productMapper.toResponseDto(product)).thenReturn(createProductResponseDto());
+
+        ProductCursorPageDto result = productService.findBySellerIdAfter(sellerId, null, null, after, 10);
+
+        assertAll(
+                () -> assertEquals(1, result.content().size()),
+                () -> assertFalse(result.hasNext()),
+                () -> assertNull(result.nextCursor())
+        );
+    }
+
+    @Test
+    @DisplayName("Throws BadRequestException when the cursor is invalid")
+    void findAllAfter_ShouldThrowBadRequestExceptionWhenCursorIsInvalid() {
+        assertThrows(BadRequestException.class, () -> productService.findAllAfter(null, null, "not-a-cursor", 10));
+    }
+
     @Test
     @DisplayName("Returns a product when found by ID")
     void findById_ShouldReturnProductWhenFound() {
@@ -194,6 +312,41 @@ class ProductServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("Returns the cached product on subsequent finds by ID")
+    void findById_ShouldReturnCachedProduct() {
+        Long productId = 1L;
+        Product product = createProduct();
+        when(productRepository.findByIdAndDeletedIsFalse(productId))
+                .thenReturn(Optional.of(product));
+        when(productMapper.toResponseDto(product)).thenReturn(createProductResponseDto());
+
+        productService.findById(productId);
+        ProductResponseDto result = productService.findById(productId);
+
+        assertAll(
+                () -> assertEquals(createProductResponseDto(), result),
+                () -> verify(productRepository, times(1)).findByIdAndDeletedIsFalse(productId)
+        );
+    }
+
+    @Test
+    @DisplayName("Evicts the cached product when it is deleted")
+    void delete_ShouldEvictCachedProduct() {
+        Long productId = 1L;
+        Product product = createProduct();
+        when(productRepository.findByIdAndDeletedIsFalse(productId))
+                .thenReturn(Optional.of(product));
+        when(productMapper.toResponseDto(product)).thenReturn(createProductResponseDto());
+        when(productRepository.getReferenceById(productId)).thenReturn(product);
+
+        productService.findById(productId);
+        productService.delete(productId);
+        productService.findById(productId);
+
+        verify(productRepository, times(2)).findByIdAndDeletedIsFalse(productId);
+    }
+
     @Test
     @DisplayName("Throws EntityNotFoundException when no product found by ID")
     void findById_ShouldThrowEntityNotFoundExceptionWhenNotFound() {
@@ -213,9 +366,9 @@ class ProductServiceTest {
         Set<CategoryResponseDto> categoriesReponseDto = Set.of(createCategoryResponseDto());
 
         when(productMapper.postDtoToEntity(productPostDto)).thenReturn(product);
-        when(productRepository.save(product)).thenReturn(product);
+        when(productRepository.saveAndFlush(product)).thenReturn(product);
         when(categoryMapper.toResponseDto(categories)).thenReturn(categoriesReponseDto);
-        when(categoryRepository.findAllByListOfIdAndDeletedFalse(anyList())).thenReturn(categories);
+        when(categoryRegistry.findAllById(anyList())).thenReturn(categories);
 
         ProductResponseDto result = productService.save(productPostDto);
 
@@ -224,9 +377,10 @@ class ProductServiceTest {
                 () -> assertEquals(product.getId(), result.id()),
                 () -> assertEquals(product.getName(), result.name()),
                 () -> assertEquals(product.getPrice(), result.price()),
-                () -> verify(productRepository).save(product),
+                () -> verify(productRepository).saveAndFlush(product),
                 () -> verify(productRepository).saveAllCategories(product.getId(), categories.stream().map(Category::getId).collect(Collectors.toSet())),
-                () -> verify(categoryMapper).toResponseDto(categories)
+                () -> verify(categoryMapper).toResponseDto(categories),
+                () -> verify(outbox).append(OutboxEvent.Aggregate.PRODUCT, product.getId(), OutboxEvent.Type.CREATED)
         );
     }
 
@@ -247,12 +401,31 @@ class ProductServiceTest {
         Set<CategoryResponseDto> categoriesReponseDto = Set.of(createCategoryResponseDto());
 
         when(productMapper.postDtoToEntity(productPostDto)).thenReturn(product);
-        when(productRepository.save(product)).thenReturn(product);
+        when(productRepository.saveAndFlush(product)).thenReturn(product);
         when(categoryMapper.toResponseDto(categories)).thenReturn(categoriesReponseDto);
 
         assertThrows(EntityNotFoundException.class, () -> productService.save(productPostDto), "Category not found");
     }
 
+    @Test
+    @DisplayName("Fails the bulk save when a product has an unknown category")
+    void saveAll_ShouldThrowEntityNotFoundExceptionWhenCategoryNotFound() {
+        ProductPostDto known = new ProductPostDto("Camiseta", "Algodão", BigDecimal.TEN, 1L, List.of(1L));
+        ProductPostDto unknown = new ProductPostDto("Tênis", "Corrida", BigDecimal.ONE, 1L, List.of(1L, 2L));
+        when(categoryRegistry.findAllById(Set.of(1L, 2L))).thenReturn(Set.of(createCategory()));
+
+        EntityNotFoundException exception = assertThrows(
+                EntityNotFoundException.class,
+                () -> productService.saveAll(List.of(known, unknown))
+        );
+
+        assertAll(
+                () -> assertEquals("Category not found: [2]", exception.getMessage()),
+                () -> verify(productRepository, never()).saveAll(any()),
+                () -> verify(outbox, never()).appendAll(any(), any(), any())
+        );
+    }
+
     @Test
     @DisplayName("Returns the successfully updated product")
     void update_ShouldUpdateProductWithValidData() {
@@ -265,15 +438,15 @@ class ProductServiceTest {
         Set<CategoryResponseDto> categoriesResponseDto = Set.of(createCategoryResponseDto());
 
         when(productMapper.postDtoToEntity(productPostDto)).thenReturn(product);
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
         when(categoryMapper.toResponseDto(categories)).thenReturn(categoriesResponseDto);
-        when(categoryRepository.findAllByListOfIdAndDeletedFalse(anyList())).thenReturn(categories);
+        when(categoryRegistry.findAllById(anyList())).thenReturn(categories);
         productService.save(productPostDto);
 
         when(productRepository.getReferenceById(productId)).thenReturn(existingProduct);
         when(productMapper.putDtoToEntity(productPutDto)).thenReturn(existingProduct);
         when(categoryMapper.toResponseDto(categories)).thenReturn(categoriesResponseDto);
-        when(categoryRepository.findAllByListOfIdAndDeletedFalse(anyList())).thenReturn(categories);
+        when(categoryRegistry.findAllById(anyList())).thenReturn(categories);
 
         ProductResponseDto result = productService.update(productId, productPutDto);
 
@@ -281,7 +454,8 @@ class ProductServiceTest {
                 () -> assertNotNull(result),
                 () -> assertEquals(existingProduct.getId(), result.id()),
                 () -> assertEquals(existingProduct.getName(), result.name()),
-                () -> assertEquals(existingProduct.getPrice(), result.price())
+                () -> assertEquals(existingProduct.getPrice(), result.price()),
+                () -> verify(outbox).append(OutboxEvent.Aggregate.PRODUCT, productId, OutboxEvent.Type.UPDATED)
         );
     }
 
@@ -302,11 +476,125 @@ class ProductServiceTest {
         ProductPutDto productPutDto = createProductPutDto();
         Product existingProduct = createProduct();
         when(productRepository.getReferenceById(productId)).thenReturn(existingProduct);
-        when(categoryRepository.findAllByListOfIdAndDeletedFalse(anyList())).thenReturn(Collections.emptySet());
+        when(categoryRegistry.findAllById(anyList())).thenReturn(Collections.emptySet());
 
         assertThrows(EntityNotFoundException.class, () -> productService.update(productId, productPutDto), "Category not found");
     }
 
+    @Test
+    @DisplayName("Writes only the added and removed category links")
+    void update_ShouldWriteOnlyCategoryDifferences() {
+        Product existingProduct = createProduct();
+        ProductPutDto productPutDto = new ProductPutDto(null, null, null, List.of(2L, 3L));
+        Set<Category> categories = Set.of(createCategory(2L), createCategory(3L));
+        when(productRepository.getReferenceById(1L)).thenReturn(existingProduct);
+        when(productMapper.putDtoToEntity(productPutDto)).thenReturn(new Product());
+        when(productRepository.findCategoryIdsByProductId(1L)).thenReturn(List.of(1L, 2L));
+        when(categoryRegistry.findAllById(List.of(2L, 3L))).thenReturn(categories);
+
+        productService.update(1L, productPutDto);
+
+        assertAll(
+                () -> verify(productRepository).deleteCategories(1L, Set.of(1L)),
+                () -> verify(productRepository).saveAllCategories(1L, Set.of(3L))
+        );
+    }
+
+    @Test
+    @DisplayName("Does not touch the category links when the ids are absent or unchanged")
+    void update_ShouldSkipUnchangedCategories() {
+        Product existingProduct = createProduct();
+        ProductPutDto priceOnly = new ProductPutDto(null, null, new BigDecimal(20), null);
+        ProductPutDto sameCategories = new ProductPutDto(null, null, null, List.of(1L));
+        when(productRepository.getReferenceById(1L)).thenReturn(existingProduct);
+        when(productMapper.putDtoToEntity(any(ProductPutDto.class))).thenReturn(new Product());
+        when(productRepository.findCategoryIdsByProductId(1L)).thenReturn(List.of(1L));
+        when(categoryRegistry.findAllById(List.of(1L))).thenReturn(Set.of(createCategory()));
+
+        productService.update(1L, priceOnly);
+        productService.update(1L, sameCategories);
+
+        assertAll(
+                () -> verify(productRepository, never()).deleteCategories(any(), any()),
+                () -> verify(productRepository, never()).saveAllCategories(any(), any())
+        );
+    }
+
+    @Test
+    @DisplayName("Answers with the product categories and keeps the index when only the price changes")
+    void update_ShouldNotLookUpCategoriesWhenIdsAbsent() {
+        Product existingProduct = createProduct();
+        ProductPutDto priceOnly = new ProductPutDto(null, null, new BigDecimal(20), null);
+        Set<CategoryResponseDto> categoriesResponseDto = Set.of(createCategoryResponseDto());
+        when(productRepository.getReferenceById(1L)).thenReturn(existingProduct);
+        when(productMapper.putDtoToEntity(priceOnly)).thenReturn(new Product());
+        when(categoryMapper.toResponseDto(existingProduct.getCategories())).thenReturn(categoriesResponseDto);
+
+        ProductResponseDto result = productService.update(1L, priceOnly);
+
+        assertAll(
+                () -> assertEquals(categoriesResponseDto, result.categories()),
+                () -> verify(productRepository, never()).findCategoryIdsByProductId(any()),
+                () -> verify(categoryRegistry, never()).findAllById(any()),
+                () -> verify(productSearchIndex, never()).index(any(), any(), any())
+        );
+    }
+
+    @Test
+    @DisplayName("Re-indexes the product with its current categories when the name changes")
+    void update_ShouldReindexWhenNameChanges() {
+        Product existingProduct = createProduct();
+        ProductPutDto rename = new ProductPutDto("Renamed", null, null, null);
+        Product newProduct = new Product();
+        newProduct.setName("Renamed");
+        when(productRepository.getReferenceById(1L)).thenReturn(existingProduct);
+        when(productMapper.putDtoToEntity(rename)).thenReturn(newProduct);
+
+        productService.update(1L, rename);
+
+        verify(productSearchIndex).index(1L, "Renamed", Set.of(1L));
+    }
+
+    @Test
+    @DisplayName("Patches products with a single statement and refreshes caches and index once")
+    void patchAll_ShouldUpdateAndInvalidateOnce() {
+        List<ProductPatchDto> patches = List.of(
+                new ProductPatchDto(1L, new BigDecimal(20), null, null),
+                new ProductPatchDto(2L, null, "Renamed", null),
+                new ProductPatchDto(3L, null, "Deleted", null)
+        );
+        when(productRepositoryCustom.updateAllDeletedFalse(patches)).thenReturn(List.of(1L, 2L));
+        when(productRepository.findCategoryIdsByProductIds(Set.of(2L))).thenReturn(List.<Object[]>of(new Object[]{2L, 5L}));
+
+        Set<Long> result = productService.patchAll(patches);
+
+        assertAll(
+                () -> assertEquals(Set.of(1L, 2L), result),
+                () -> verify(productDetailCache).invalidateAll(Set.of(1L, 2L)),
+                () -> verify(productCountCache).invalidateAll(),
+                () -> verify(productSearchIndex).index(2L, "Renamed", Set.of(5L)),
+                () -> verify(productSearchIndex, never()).index(eq(3L), any(), any()),
+                () -> verify(productRepository, never()).getReferenceById(any())
+        );
+    }
+
+    @Test
+    @DisplayName("Invalidates the product counts only when a name or description changed")
+    void patchAll_ShouldInvalidateCountsWhenDescriptionChanged() {
+        List<ProductPatchDto> prices = List.of(new ProductPatchDto(1L, new BigDecimal(20), null, null));
+        List<ProductPatchDto> descriptions = List.of(new ProductPatchDto(1L, null, null, "Algodão"));
+        when(productRepositoryCustom.updateAllDeletedFalse(anyList())).thenReturn(List.of(1L));
+
+        productService.patchAll(prices);
+        verify(productCountCache, never()).invalidateAll();
+
+        productService.patchAll(descriptions);
+        assertAll(
+                () -> verify(productCountCache).invalidateAll(),
+                () -> verify(productSearchIndex, never()).index(any(), any(), any())
+        );
+    }
+
     @Test
     @DisplayName("Deletes product by ID")
     void delete_ShouldDeleteProductById() {
@@ -318,7 +606,43 @@ class ProductServiceTest {
 
         assertAll(
                 () -> assertTrue(product.getDeleted()),
-                () -> verify(productRepository, times(1)).getReferenceById(productId)
+                () -> verify(productRepository, times(1)).getReferenceById(productId),
+                () -> verify(productCountCache).invalidateAll(),
+                () -> verify(productSearchIndex).remove(productId),
+                () -> verify(outbox).append(OutboxEvent.Aggregate.PRODUCT, productId, OutboxEvent.Type.DELETED)
+        );
+    }
+
+    @Test
+    @DisplayName("Soft-deletes the products of a seller and removes them from caches and index")
+    void deleteAllBySellerId_ShouldRemoveDeletedProducts() {
+        when(productRepositoryCustom.softDeleteAllBySellerId(7L)).thenReturn(List.of(1L, 2L));
+
+        int result = productService.deleteAllBySellerId(7L);
+
+        assertAll(
+                () -> assertEquals(2, result),
+                () -> verify(productCountCache).invalidateAll(),
+                () -> verify(productSearchIndex).remove(1L),
+                () -> verify(productSearchIndex).remove(2L),
+                () -> verify(productDetailCache).invalidateAll(List.of(1L, 2L)),
+                () -> verify(outbox).appendAll(OutboxEvent.Aggregate.PRODUCT, List.of(1L, 2L), OutboxEvent.Type.DELETED)
+        );
+    }
+
+    @Test
+    @DisplayName("Restores products and indexes them again with their categories")
+    void restoreAllById_ShouldIndexRestoredProducts() {
+        when(productRepositoryCustom.restoreAllByIdIn(List.of(1L, 2L))).thenReturn(List.<Object[]>of(new Object[]{1L, "Camiseta"}));
+        when(productRepository.findCategoryIdsByProductIds(List.of(1L))).thenReturn(List.<Object[]>of(new Object[]{1L, 5L}));
+
+        int result = productService.restoreAllById(List.of(1L, 2L));
+
+        assertAll(
+                () -> assertEquals(1, result),
+                () -> verify(productCountCache).invalidateAll(),
+                () -> verify(productSearchIndex).index(1L, "Camiseta", Set.of(5L)),
+                () -> verify(productDetailCache).invalidateAll(List.of(1L))
         );
     }
 
@@ -384,7 +708,7 @@ class ProductServiceTest {
         List<Product> products = Arrays.asList(createProduct());
         List<ProductResponseDto> expectedResponse = Arrays.asList(createProductResponseDto());
 
-        when(productRepository.findAllById(productIds)).thenReturn(products);
+        when(productHydrator.findAllByIds(productIds)).thenReturn(products);
         when(productMapper.toResponseDto(any())).thenReturn(createProductResponseDto());
 
         List<ProductResponseDto> result = productService.findProductsList(productIds);
@@ -393,7 +717,7 @@ class ProductServiceTest {
                 () -> assertNotNull(result),
                 () -> assertEquals(expectedResponse.size(), result.size()),
                 () -> assertEquals(expectedResponse, result),
-                () -> verify(productRepository).findAllById(productIds),
+                () -> verify(productHydrator).findAllByIds(productIds),
                 () -> verify(productMapper, times(productIds.size())).toResponseDto(any())
         );
     }
@@ -403,18 +727,47 @@ class ProductServiceTest {
     void findProductsList_ShouldReturnEmptyListWhenNoProductsFound() {
         List<Long> productIds = List.of(createProduct().getId());
 
-        when(productRepository.findAllById(productIds)).thenReturn(Collections.emptyList());
+        when(productHydrator.findAllByIds(productIds)).thenReturn(Collections.emptyList());
 
         List<ProductResponseDto> result = productService.findProductsList(productIds);
 
         assertAll(
                 () -> assertNotNull(result),
                 () -> assertTrue(result.isEmpty()),
-                () -> verify(productRepository).findAllById(productIds),
+                () -> verify(productHydrator).findAllByIds(productIds),
                 () -> verify(productMapper, never()).toResponseDto(any())
         );
     }
 
+    @Test
+    @DisplayName("Returns batch items in request order with deleted and missing markers")
+    void findBatch_ShouldReturnItemsInRequestOrder() {
+        when(productRepository.findBatchItemsByIdIn(List.of(3L, 1L, 2L))).thenReturn(List.of(
+                new Object[]{1L, "Product", new BigDecimal(10), 1L, false, "http://localhost/image.png"},
+                new Object[]{2L, "Deleted", new BigDecimal(5), 1L, true, null}
+        ));
+
+        List<ProductBatchItemDto> result = productService.findBatch(List.of(3L, 1L, 3L, 2L));
+
+        assertAll(
+                () -> assertEquals(List.of(3L, 1L, 2L), result.stream().map(ProductBatchItemDto::id).toList()),
+                () -> assertEquals(ProductBatchItemDto.Status.MISSING, result.get(0).status()),
+                () -> assertEquals(ProductBatchItemDto.Status.FOUND, result.get(1).status()),
+                () -> assertEquals("Product", result.get(1).name()),
+                () -> assertEquals(ProductBatchItemDto.Status.DELETED, result.get(2).status()),
+                () -> assertNull(result.get(2).name())
+        );
+    }
+
+    @Test
+    @DisplayName("Throws BadRequestException when the batch is too large")
+    void findBatch_ShouldThrowBadRequestExceptionWhenTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 5001).boxed().toList();
+
+        assertThrows(BadRequestException.class, () -> productService.findBatch(ids));
+        verify(productRepository, never()).findBatchItemsByIdIn(anyCollection());
+    }
+
     private Product createProduct(){
         ProductBuilder builder = new ProductBuilder();
 
@@ -485,10 +838,14 @@ class ProductServiceTest {
     }
 
     private Category createCategory(){
+        return createCategory(1L);
+    }
+
+    private Category createCategory(Long id){
         CategoryBuilder builder = new CategoryBuilder();
 
         return builder
-                .id(1L)
+                .id(id)
                 .name("Category name")
                 .build();
     }
@@ -0,0 +1,54 @@
+package br.com.solutis.squad1.catalogservice.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageResizerTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    @DisplayName("Downscales keeping the aspect ratio")
+    void resize_ShouldKeepAspectRatio() {
+        BufferedImage image = new BufferedImage(1600, 800, BufferedImage.TYPE_INT_RGB);
+
+        BufferedImage resized = ImageResizer.resize(image, 150, true);
+
+        assertAll(
+                () -> assertEquals(150, resized.getWidth()),
+                () -> assertEquals(75, resized.getHeight())
+        );
+    }
+
+    @Test
+    @DisplayName("Does not upscale images smaller than the variant")
+    void resize_ShouldNotUpscale() {
+        BufferedImage image = new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB);
+
+        assertSame(image, ImageResizer.resize(image, 150, false));
+    }
+
+    @Test
+    @DisplayName("Writes and reads back the image in the format of the file extension")
+    void write_ShouldWriteInFormatOfExtension() throws Exception {
+        Path target = dir.resolve("variants").resolve("image.jpg");
+        String format = ImageResizer.formatOf(target.getFileName().toString());
+
+        ImageResizer.write(new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB), format, target);
+
+        BufferedImage written = ImageIO.read(target.toFile());
+        assertAll(
+                () -> assertEquals("jpeg", format),
+                () -> assertEquals(40, written.getWidth()),
+                () -> assertNull(ImageResizer.formatOf("image.webp"))
+        );
+    }
+}
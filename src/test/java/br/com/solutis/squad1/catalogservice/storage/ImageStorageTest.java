@@ -0,0 +1,111 @@
+package br.com.solutis.squad1.catalogservice.storage;
+
+import br.com.solutis.squad1.catalogservice.exception.BadRequestException;
+import br.com.solutis.squad1.catalogservice.exception.EntityNotFoundException;
+import br.com.solutis.squad1.catalogservice.model.entity.ImageVariant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageStorageTest {
+    // Assinatura PNG seguida de "image"
+    private static final byte[] PNG_CONTENT = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 'i', 'm', 'a', 'g', 'e'};
+    // SHA-256 de PNG_CONTENT
+    private static final String CONTENT_HASH = "3c7474b4239ada3342d87f25ec8849eb8473ee35c5471452482686098b49e81b";
+
+    @TempDir
+    private Path uploadDir;
+
+    private LocalBlobStore blobStore;
+    private ImageStorage imageStorage;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new LocalBlobStore(uploadDir.toString());
+        imageStorage = new ImageStorage(blobStore, uploadDir.toString(), true, DataSize.ofBytes(64));
+    }
+
+    @Test
+    @DisplayName("Detects the type and computes size and checksum while staging")
+    void stage_ShouldDetectTypeAndComputeChecksum() {
+        ImageStorage.StagedFile stagedFile = stage(PNG_CONTENT);
+
+        assertAll(
+                () -> assertEquals(ImageType.PNG, stagedFile.type()),
+                () -> assertEquals(PNG_CONTENT.length, stagedFile.size()),
+                () -> assertEquals(CONTENT_HASH, stagedFile.contentHash())
+        );
+    }
+
+    @Test
+    @DisplayName("Rejects content that is not an image or exceeds the maximum size")
+    void stage_ShouldRejectInvalidContent() {
+        byte[] tooLarge = Arrays.copyOf(PNG_CONTENT, 65);
+
+        assertAll(
+                () -> assertThrows(BadRequestException.class, () -> stage("<html>".getBytes())),
+                () -> assertThrows(BadRequestException.class, () -> stage(tooLarge)),
+                () -> assertEquals(0, Files.list(uploadDir.resolve(".tmp")).count())
+        );
+    }
+
+    @Test
+    @DisplayName("Stores the content under its hash in a sharded directory")
+    void publish_ShouldStoreContentUnderItsHash() throws Exception {
+        String archiveName = imageStorage.publish(stage(PNG_CONTENT));
+
+        Path stored = uploadDir.resolve("3c").resolve("74").resolve(CONTENT_HASH + ".png");
+        assertAll(
+                () -> assertEquals(CONTENT_HASH + ".png", archiveName),
+                () -> assertEquals(stored, blobStore.localPath(imageStorage.key(archiveName)).orElseThrow()),
+                () -> assertArrayEquals(PNG_CONTENT, Files.readAllBytes(stored))
+        );
+    }
+
+    @Test
+    @DisplayName("Reuses the stored file when the same content is uploaded again")
+    void publish_ShouldReuseStoredFile() {
+        ImageStorage.StagedFile first = stage(PNG_CONTENT);
+        ImageStorage.StagedFile second = stage(PNG_CONTENT);
+
+        assertEquals(imageStorage.publish(first), imageStorage.publish(second));
+        assertFalse(Files.exists(second.path()));
+    }
+
+    @Test
+    @DisplayName("Throws EntityNotFoundException when the name escapes the upload directory")
+    void key_ShouldRejectPathTraversal() {
+        assertAll(
+                () -> assertThrows(EntityNotFoundException.class, () -> imageStorage.key("../secret.png")),
+                () -> assertThrows(EntityNotFoundException.class, () -> blobStore.localPath("../secret.png"))
+        );
+    }
+
+    @Test
+    @DisplayName("Deletes the stored file together with its variants")
+    void delete_ShouldDeleteFileAndVariants() throws Exception {
+        String archiveName = imageStorage.publish(stage(PNG_CONTENT));
+        Path variant = Files.createTempFile(uploadDir, "variant", ".png");
+        imageStorage.publishVariant(archiveName, ImageVariant.THUMB, variant, "image/png");
+
+        imageStorage.delete(archiveName);
+
+        assertAll(
+                () -> assertFalse(blobStore.exists(imageStorage.key(archiveName))),
+                () -> assertFalse(imageStorage.variantExists(archiveName, ImageVariant.THUMB))
+        );
+    }
+
+    private ImageStorage.StagedFile stage(byte[] content) {
+        return imageStorage.stage(new ByteArrayInputStream(content));
+    }
+}